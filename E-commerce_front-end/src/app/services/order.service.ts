@@ -68,7 +68,7 @@ export class OrderService {
    * Get all orders (useful for history views)
    */
   getAllOrders(): Observable<Order[]> {
-    return this.http.get<Order[]>(this.apiUrl).pipe(
+    return this.http.get<Order[]>(this.apiUrl, { params: { all: 'true' } }).pipe(
       catchError(this.handleError)
     );
   }
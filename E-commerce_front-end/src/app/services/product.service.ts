@@ -60,9 +60,9 @@ export class ProductService {
         return this.http.post<ProductResponseDTO>(this.apiUrl, product);
     }
 
-    // Get all products
+    // Get all products (the default listing is cursor-paginated, all=true opts into the full catalog)
     getProducts(): Observable<ProductResponseDTO[]> {
-        return this.http.get<ProductResponseDTO[]>(this.apiUrl);
+        return this.http.get<ProductResponseDTO[]>(this.apiUrl, { params: { all: 'true' } });
     }
 
     // Get product by ID
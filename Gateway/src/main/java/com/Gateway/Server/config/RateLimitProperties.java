@@ -0,0 +1,40 @@
+package com.Gateway.Server.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * gateway.rate-limit.* : token bucket limits, per route id with a default for routes not listed.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Tracked clients (user ids / IPs) across all routes; beyond that new clients share one bucket per route
+    private int maxKeys = 100_000;
+
+    private Limit defaults = new Limit(100, 50);
+
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public Limit forRoute(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;           // Burst size
+        private double refillPerSecond; // Sustained rate
+    }
+}
@@ -1,11 +1,16 @@
 package com.Gateway.Server.config;
 
+import com.Gateway.Server.filters.JwtAuthenticationFilter;
+import com.Gateway.Server.service.TokenService;
+import com.Shared.password.PasswordEncoders;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 /**
@@ -24,17 +29,26 @@ public class SecurityConfig {
         "/error"
     };
 
+    /**
+     * Only verifies passwords: Client-MS is the single place where they are hashed.
+     * Must be configured like Client-MS (security.password.*) so that upgradeEncoding() flags
+     * the hashes Client-MS would produce differently today, which are then rehashed on login.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        return PasswordEncoders.delegating(algorithm, bcryptStrength);
     }
 
     @Bean
-    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http, TokenService tokenService) {
         return http
             // Disable CSRF for microservices
             .csrf(ServerHttpSecurity.CsrfSpec::disable)
 
+            // Single JWT verification per request; route filters reuse its result
+            .addFilterAt(new JwtAuthenticationFilter(tokenService), SecurityWebFiltersOrder.AUTHENTICATION)
+
             // Configure authorization
             .authorizeExchange(exchanges -> exchanges
                 // Allow OPTIONS for CORS preflight
@@ -46,6 +60,7 @@ public class SecurityConfig {
                 // Protected endpoints - require authentication via JWT
                 .pathMatchers("/auth/me").authenticated()
                 .pathMatchers("/auth/logout").authenticated()
+                .pathMatchers("/bff/**").authenticated()
 
                 // All other requests are allowed (will be handled by gateway routes)
                 .anyExchange().permitAll()
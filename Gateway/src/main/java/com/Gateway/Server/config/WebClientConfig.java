@@ -1,9 +1,18 @@
 package com.Gateway.Server.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
@@ -13,5 +22,61 @@ public class WebClientConfig {
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
-}
 
+    /**
+     * Dedicated, explicitly sized connection pool for MS-CLIENT calls (login, /auth/me, register).
+     * With metrics enabled reactor-netty publishes the reactor.netty.connection.provider.* gauges
+     * (active, idle, pending connections) on /actuator/metrics.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider userServiceConnectionProvider(
+            @Value("${gateway.user-service.pool.max-connections:100}") int maxConnections,
+            @Value("${gateway.user-service.pool.max-pending-acquires:500}") int maxPendingAcquires,
+            @Value("${gateway.user-service.pool.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${gateway.user-service.pool.max-idle-time-ms:30000}") long maxIdleTimeMs) {
+        return ConnectionProvider.builder("user-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Long-lived, load-balanced client for MS-CLIENT, built once instead of on every call.
+     * Response timeouts are set per call by UserServiceClientReactive.
+     */
+    @Bean
+    public WebClient userServiceWebClient(@LoadBalanced WebClient.Builder webClientBuilder,
+                                          ConnectionProvider userServiceConnectionProvider,
+                                          @Value("${gateway.user-service.connect-timeout-ms:2000}") int connectTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(userServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs);
+
+        return webClientBuilder.clone()
+                .baseUrl("http://MS-CLIENT")
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    // Load-balanced client used by the response cache to revalidate stale product-service entries in the background
+    @Bean
+    public WebClient productServiceWebClient(@LoadBalanced WebClient.Builder webClientBuilder) {
+        return webClientBuilder.clone().build();
+    }
+
+    // Load-balanced client for the order service, used by the /bff aggregation endpoints (timeouts set per branch)
+    @Bean
+    public WebClient orderServiceWebClient(@LoadBalanced WebClient.Builder webClientBuilder) {
+        return webClientBuilder.clone()
+                .baseUrl("http://COMMANDE-SERVICE")
+                .build();
+    }
+
+    // One breaker instance for every call to MS-CLIENT, instead of creating one per request
+    @Bean
+    public ReactiveCircuitBreaker userServiceCircuitBreaker(ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory) {
+        return circuitBreakerFactory.create("userService");
+    }
+}
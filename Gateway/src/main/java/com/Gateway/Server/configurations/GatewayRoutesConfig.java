@@ -2,36 +2,47 @@ package com.Gateway.Server.configurations;
 
 import com.Gateway.Server.filters.AdminAuthorizationFilter;
 import com.Gateway.Server.filters.AuthenticationFilter;
-import com.Gateway.Server.filters.CustomGatewayFilter;
+import com.Gateway.Server.filters.RateLimitFilter;
+import com.Gateway.Server.filters.RequestCoalescingFilter;
+import com.Gateway.Server.filters.ResponseCacheFilter;
+import com.Gateway.Server.filters.ResponseCachePurgeFilter;
+import com.Gateway.Server.filters.UserProfileInvalidationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 
 @Configuration
 public class GatewayRoutesConfig {
 
-    @Autowired
-    private CustomGatewayFilter customGatewayFilter;
-
     @Autowired
     private AuthenticationFilter authenticationFilter;
 
     @Autowired
     private AdminAuthorizationFilter adminAuthorizationFilter;
 
+    @Autowired
+    private UserProfileInvalidationFilter userProfileInvalidationFilter;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private ResponseCacheFilter responseCacheFilter;
+
+    @Autowired
+    private ResponseCachePurgeFilter responseCachePurgeFilter;
+
+    @Autowired
+    private RequestCoalescingFilter requestCoalescingFilter;
+
     @Bean
     public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
         return builder.routes()
-                // Public route: Authentication endpoints (no auth required)
-                .route("auth-route", r -> r
-                        .path("/auth/**")
-                        .filters(f -> f
-                                .addRequestHeader("X-Request-Origin", "Gateway")
-                        )
-                        .uri("forward:///") // Handle locally by AuthController
-                )
+                // No route for /auth/**: AuthController's handler mapping takes it before the route mapping.
+                // Its rate limit is applied by AuthRateLimitWebFilter
 
                 // Public route: Browse products (GET only - no auth required)
                 .route("product-service-public-route", r -> r
@@ -39,9 +50,11 @@ public class GatewayRoutesConfig {
                         .and()
                         .method("GET")
                         .filters(f -> f
+                                .filter(rateLimitFilter) // Per user when a token is sent, else per IP
                                 .rewritePath("/product-service/(?<remaining>.*)", "/${remaining}")
                                 .addRequestHeader("X-Request-Origin", "Gateway")
-                                .filter(customGatewayFilter)
+                                .filter(responseCacheFilter) // Catalog reads are served from cache
+                                .filter(requestCoalescingFilter) // Concurrent identical misses share one upstream call
                         )
                         .uri("lb://product-service")
                 )
@@ -55,11 +68,44 @@ public class GatewayRoutesConfig {
                                 .rewritePath("/product-service/(?<remaining>.*)", "/${remaining}")
                                 .addRequestHeader("X-Request-Origin", "Gateway")
                                 .filter(authenticationFilter) // Require authentication
-                                .filter(customGatewayFilter)
+                                .filter(rateLimitFilter)
+                                .filter(responseCachePurgeFilter) // Successful writes drop cached reads
                         )
                         .uri("lb://product-service")
                 )
 
+                // Internal only: the rehash-on-login call of AuthController. Ordered ahead of the discovery
+                // locator routes, which would otherwise expose it as /MS-CLIENT/api/v1/...
+                .route("ms-client-internal-password-route", r -> r
+                        .order(-1)
+                        .path("/MS-CLIENT/api/v1/users/*/password", "/MS-CLIENT/users/*/password")
+                        .filters(f -> f.setStatus(HttpStatus.NOT_FOUND))
+                        .uri("no://op")
+                )
+
+                // Internal only: password hashes are for the Gateway's own login lookup, never for clients.
+                // Ordered ahead of the discovery locator routes, like the route above
+                .route("ms-client-internal-auth-route", r -> r
+                        .order(-1)
+                        .path("/MS-CLIENT/api/v1/users/auth/**", "/MS-CLIENT/users/auth/**")
+                        .filters(f -> f.setStatus(HttpStatus.NOT_FOUND))
+                        .uri("no://op")
+                )
+
+                // Storefront profile edit / account deletion (and role changes) go through the discovery locator
+                // path: same forwarding as the locator route, plus the cached /auth/me profile invalidation
+                .route("ms-client-api-modify-route", r -> r
+                        .order(-1)
+                        .path("/MS-CLIENT/api/v1/users/{id}", "/MS-CLIENT/api/v1/users/{id}/role")
+                        .and()
+                        .method("PUT", "DELETE")
+                        .filters(f -> f
+                                .rewritePath("/MS-CLIENT/(?<remaining>.*)", "/${remaining}")
+                                .filter(userProfileInvalidationFilter)
+                        )
+                        .uri("lb://MS-CLIENT")
+                )
+
                 // Admin route: Get all users (admin only)
                 .route("ms-client-admin-getall-route", r -> r
                         .path("/MS-CLIENT/users")
@@ -69,6 +115,7 @@ public class GatewayRoutesConfig {
                                 .rewritePath("/MS-CLIENT/(?<remaining>.*)", "/api/v1/${remaining}")
                                 .filter(authenticationFilter) // Validate token first
                                 .filter(adminAuthorizationFilter) // Then check admin role
+                                .filter(rateLimitFilter)
                         )
                         .uri("lb://MS-CLIENT")
                 )
@@ -82,6 +129,8 @@ public class GatewayRoutesConfig {
                                 .rewritePath("/MS-CLIENT/(?<remaining>.*)", "/api/v1/${remaining}")
                                 .filter(authenticationFilter) // Validate token first
                                 .filter(adminAuthorizationFilter) // Then check admin role
+                                .filter(rateLimitFilter)
+                                .filter(userProfileInvalidationFilter) // Cached /auth/me profile is now stale
                         )
                         .uri("lb://MS-CLIENT")
                 )
@@ -92,6 +141,7 @@ public class GatewayRoutesConfig {
                         .filters(f -> f
                                 .rewritePath("/MS-CLIENT/(?<remaining>.*)", "/api/v1/${remaining}")
                                 .filter(authenticationFilter) // Require authentication
+                                .filter(rateLimitFilter)
                         )
                         .uri("lb://MS-CLIENT")
                 )
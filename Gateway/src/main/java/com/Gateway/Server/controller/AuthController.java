@@ -3,16 +3,20 @@ package com.Gateway.Server.controller;
 import com.Gateway.Server.dto.LoginRequest;
 import com.Gateway.Server.dto.LoginResponse;
 import com.Gateway.Server.dto.UserDTO;
+import com.Gateway.Server.exception.ServiceBusyException;
 import com.Gateway.Server.exception.UnauthorizedException;
+import com.Gateway.Server.filters.AuthenticationFilter;
+import com.Gateway.Server.model.TokenInfo;
+import com.Gateway.Server.service.PasswordHashingService;
 import com.Gateway.Server.service.TokenService;
+import com.Gateway.Server.service.UserProfileCache;
 import com.Gateway.Server.service.UserServiceClientReactive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
-import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
@@ -24,28 +28,32 @@ import java.util.Map;
 public class AuthController {
 
     private final UserServiceClientReactive userServiceClient;
+    private final UserProfileCache userProfileCache;
     private final TokenService tokenService;
-    private final BCryptPasswordEncoder passwordEncoder;
-    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+    private final PasswordHashingService passwordHashingService;
+    private final ReactiveCircuitBreaker userServiceCircuitBreaker;
 
     @PostMapping("/login")
     public Mono<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest loginRequest) {
-        ReactiveCircuitBreaker circuitBreaker = circuitBreakerFactory.create("userService");
-
-        return circuitBreaker.run(
+        return userServiceCircuitBreaker.run(
             userServiceClient.getUserByEmail(loginRequest.getEmail())
-                .flatMap(user -> {
-                    // Validate password using BCrypt
-                    if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+                .flatMap(user -> passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())
+                    .map(matches -> Map.entry(user, matches)))
+                .flatMap(checked -> {
+                    UserDTO user = checked.getKey();
+                    // Validate password using BCrypt (verified off the event loop)
+                    if (!checked.getValue()) {
                         return Mono.error(new UnauthorizedException("Invalid email or password"));
                     }
 
+                    // Stored with an outdated algorithm or cost: Client-MS rehashes it, once per user and change
+                    Mono<Void> rehash = passwordHashingService.needsRehash(user.getPassword())
+                            ? userServiceClient.rehashPassword(user.getId(), loginRequest.getPassword(), user.getPassword())
+                            : Mono.empty();
+
                     // Generate JWT token
                     String token = tokenService.generateToken(user.getId(), user.getEmail(), user.getRole());
 
-                    // Store token info (for logout/revocation tracking)
-                    tokenService.storeToken(token, user.getId(), user.getEmail(), user.getRole());
-
                     // Build response with expiration time
                     LoginResponse response = LoginResponse.builder()
                             .token(token)
@@ -55,10 +63,11 @@ public class AuthController {
                             .expiresIn(tokenService.getTokenExpirationTime())
                             .build();
 
-                    return Mono.just(ResponseEntity.ok(response));
+                    return rehash.thenReturn(ResponseEntity.ok(response));
                 })
                 .switchIfEmpty(Mono.error(new UnauthorizedException("Invalid email or password")))
                 .onErrorResume(UnauthorizedException.class, Mono::error)
+                .onErrorResume(ServiceBusyException.class, Mono::error)
                 .onErrorResume(e -> Mono.error(new UnauthorizedException("Authentication failed: " + e.getMessage()))),
             this::loginFallback
         );
@@ -87,13 +96,9 @@ public class AuthController {
 
     @PostMapping("/register")
     public Mono<ResponseEntity<UserDTO>> register(@RequestBody UserDTO userDTO) {
-        ReactiveCircuitBreaker circuitBreaker = circuitBreakerFactory.create("userService");
-
-        return circuitBreaker.run(
+        return userServiceCircuitBreaker.run(
             Mono.fromCallable(() -> {
-                // Hash password before sending to Client-MS
-                userDTO.setPassword(passwordEncoder.encode(userDTO.getPassword()));
-
+                // The raw password goes to Client-MS, the only place where passwords are hashed
                 // Set default role if not provided
                 if (userDTO.getRole() == null || userDTO.getRole().isEmpty()) {
                     userDTO.setRole("CLIENT");
@@ -111,39 +116,21 @@ public class AuthController {
     }
 
     @GetMapping("/me")
-    public Mono<ResponseEntity<UserDTO>> getCurrentUser(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        ReactiveCircuitBreaker circuitBreaker = circuitBreakerFactory.create("userService");
-
-        return circuitBreaker.run(
+    public Mono<ResponseEntity<UserDTO>> getCurrentUser(ServerWebExchange exchange) {
+        return userServiceCircuitBreaker.run(
             Mono.fromCallable(() -> {
-                // Validate Authorization header
-                if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                    throw new UnauthorizedException("Missing or invalid Authorization header");
-                }
-
-                // Extract token
-                String token = authHeader.replace("Bearer ", "");
-
-                // Validate token
-                if (!tokenService.validateToken(token)) {
-                    throw new UnauthorizedException("Invalid or expired token");
-                }
-
-                // Get user info from token
-                var tokenInfo = tokenService.getUserFromToken(token);
+                // Token already verified by JwtAuthenticationFilter for this request
+                TokenInfo tokenInfo = exchange.getAttribute(AuthenticationFilter.TOKEN_INFO_ATTRIBUTE);
 
                 if (tokenInfo == null) {
-                    throw new UnauthorizedException("Invalid token");
+                    throw new UnauthorizedException("Invalid or expired token");
                 }
 
                 return tokenInfo.getUserId();
             })
-            .flatMap(userServiceClient::getUserById)
-            .map(user -> {
-                // Remove password from response
-                user.setPassword(null);
-                return ResponseEntity.ok(user);
-            })
+            // Served from the profile cache (already without password)
+            .flatMap(userProfileCache::getUser)
+            .map(ResponseEntity::ok)
             .onErrorResume(UnauthorizedException.class, Mono::error)
             .onErrorResume(e -> Mono.error(new RuntimeException("Failed to get user info: " + e.getMessage()))),
             this::getCurrentUserFallback
@@ -151,7 +138,7 @@ public class AuthController {
     }
 
     private Mono<ResponseEntity<LoginResponse>> loginFallback(Throwable throwable) {
-        if (throwable instanceof UnauthorizedException) {
+        if (throwable instanceof UnauthorizedException || throwable instanceof ServiceBusyException) {
             return Mono.error(throwable);
         }
         return Mono.error(new RuntimeException(
@@ -0,0 +1,44 @@
+package com.Gateway.Server.controller;
+
+import com.Gateway.Server.dto.CartViewResponse;
+import com.Gateway.Server.exception.UnauthorizedException;
+import com.Gateway.Server.filters.AuthenticationFilter;
+import com.Gateway.Server.model.TokenInfo;
+import com.Gateway.Server.service.CartViewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aggregated endpoints for the Angular storefront (backend for frontend): one authenticated call
+ * instead of several sequential ones.
+ */
+@RestController
+@RequestMapping("/bff")
+@RequiredArgsConstructor
+public class BffController {
+
+    private final CartViewService cartViewService;
+
+    /**
+     * User profile and cart in one payload. 200 with partial=true when one branch failed, 502 when both did.
+     */
+    @GetMapping("/cart-view")
+    public Mono<ResponseEntity<CartViewResponse>> getCartView(ServerWebExchange exchange) {
+        // Token already verified by JwtAuthenticationFilter for this request
+        TokenInfo tokenInfo = exchange.getAttribute(AuthenticationFilter.TOKEN_INFO_ATTRIBUTE);
+        if (tokenInfo == null) {
+            return Mono.error(new UnauthorizedException("Invalid or expired token"));
+        }
+
+        return cartViewService.getCartView(tokenInfo)
+                .map(view -> CartViewService.failedEntirely(view)
+                        ? ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(view)
+                        : ResponseEntity.ok(view));
+    }
+}
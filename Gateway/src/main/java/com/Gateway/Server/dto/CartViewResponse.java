@@ -0,0 +1,24 @@
+package com.Gateway.Server.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Payload of GET /bff/cart-view. A branch that failed or timed out is null, with its reason in errors.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartViewResponse {
+    private UserDTO user;
+    // Cart as returned by the order service (items already carry product name, image and price)
+    private JsonNode cart;
+    private boolean partial;
+    private Map<String, String> errors;
+}
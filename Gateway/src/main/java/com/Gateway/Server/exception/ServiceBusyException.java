@@ -0,0 +1,7 @@
+package com.Gateway.Server.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
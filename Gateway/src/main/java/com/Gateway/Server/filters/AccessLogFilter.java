@@ -0,0 +1,106 @@
+package com.Gateway.Server.filters;
+
+import com.Gateway.Server.service.AccessLogWriter;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * One structured access-log line per sampled request: route id, status, total and upstream latency, bytes sent.
+ * Errors (status >= gateway.access-log.always-log-status) and slow requests are always logged, the rest with
+ * probability gateway.access-log.sample-rate. Lines go through {@link AccessLogWriter}, never on the event loop.
+ * The query string is not logged, it may carry tokens or personal data.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    private final AccessLogWriter writer;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowNanos;
+    private final int alwaysLogStatus;
+
+    public AccessLogFilter(AccessLogWriter writer,
+                           @Value("${gateway.access-log.enabled:true}") boolean enabled,
+                           @Value("${gateway.access-log.sample-rate:0.01}") double sampleRate,
+                           @Value("${gateway.access-log.slow-ms:1000}") long slowMs,
+                           @Value("${gateway.access-log.always-log-status:500}") int alwaysLogStatus) {
+        this.writer = writer;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+        this.alwaysLogStatus = alwaysLogStatus;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        AtomicLong bytes = new AtomicLong();
+        ServerWebExchange counted = exchange.mutate().response(counting(exchange.getResponse(), bytes)).build();
+
+        return chain.filter(counted).doFinally(signal -> {
+            long duration = System.nanoTime() - start;
+            HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+            // The error handler sets the status after this filter, an error signal without one ends up as a 500
+            int status = statusCode != null && signal != SignalType.ON_ERROR ? statusCode.value() : 500;
+
+            if (status >= alwaysLogStatus || duration >= slowNanos
+                    || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+                long upstream = UpstreamTimingFilter.upstreamNanos(exchange);
+                writer.offer(new AccessLogWriter.Entry(
+                        exchange.getRequest().getMethod().name(),
+                        exchange.getRequest().getPath().value(),
+                        route != null ? route.getId() : "-",
+                        status,
+                        TimeUnit.NANOSECONDS.toMicros(duration),
+                        upstream >= 0 ? TimeUnit.NANOSECONDS.toMicros(upstream) : -1,
+                        bytes.get(),
+                        signal == SignalType.CANCEL));
+            }
+        });
+    }
+
+    private static ServerHttpResponse counting(ServerHttpResponse original, AtomicLong bytes) {
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())));
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return super.writeAndFlushWith(Flux.from(body).map(chunk ->
+                        Flux.from(chunk).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))));
+            }
+        };
+    }
+
+    @Override
+    public int getOrder() {
+        // Before NettyWriteResponseFilter (-1), so the logged duration includes writing the body
+        return -2;
+    }
+}
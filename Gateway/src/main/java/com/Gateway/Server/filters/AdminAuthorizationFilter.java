@@ -1,10 +1,10 @@
 package com.Gateway.Server.filters;
 
+import com.Gateway.Server.model.TokenInfo;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
@@ -17,10 +17,9 @@ public class AdminAuthorizationFilter implements GatewayFilter {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
-
-        // Get user role from header (set by AuthenticationFilter)
-        String userRole = request.getHeaders().getFirst("X-User-Role");
+        // Principal verified once by JwtAuthenticationFilter (AuthenticationFilter runs before this one)
+        TokenInfo tokenInfo = exchange.getAttribute(AuthenticationFilter.TOKEN_INFO_ATTRIBUTE);
+        String userRole = tokenInfo != null ? tokenInfo.getRole() : null;
 
         // Check if user has ADMIN role
         if (userRole == null || !userRole.equals("ADMIN")) {
@@ -0,0 +1,42 @@
+package com.Gateway.Server.filters;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limit of /auth/** (login, register, me, logout), under the gateway.rate-limit.routes.auth-route limits.
+ * AuthController serves these paths and its handler mapping runs before the gateway's route mapping, so no
+ * route, hence no {@link RateLimitFilter} as a route filter, ever sees them: this WebFilter applies it instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitWebFilter implements WebFilter, Ordered {
+
+    public static final String LIMIT_ID = "auth-route";
+
+    private static final PathPattern AUTH_PATHS = PathPatternParser.defaultInstance.parse("/auth/**");
+
+    private final RateLimitFilter rateLimitFilter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!AUTH_PATHS.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        return rateLimitFilter.limit(exchange, LIMIT_ID, () -> chain.filter(exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        // After the Spring Security chain (-100): a verified token makes /auth/me and /auth/logout per user.
+        // Login and register carry no token and are limited per IP
+        return 0;
+    }
+}
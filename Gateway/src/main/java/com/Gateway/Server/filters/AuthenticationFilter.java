@@ -1,13 +1,11 @@
 package com.Gateway.Server.filters;
 
 import com.Gateway.Server.model.TokenInfo;
-import com.Gateway.Server.service.TokenService;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
@@ -15,47 +13,29 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 
+/**
+ * Route filter for protected routes: rejects requests that JwtAuthenticationFilter did not authenticate.
+ * The token was already verified and the X-User-* headers set there, nothing is verified or mutated again here.
+ */
 @Component
 public class AuthenticationFilter implements GatewayFilter {
 
-    @Autowired
-    private TokenService tokenService;
+    // Verified TokenInfo of the current request, set by JwtAuthenticationFilter
+    public static final String TOKEN_INFO_ATTRIBUTE = "gateway.tokenInfo";
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
-
-        // Extract Authorization header
-        String authHeader = request.getHeaders().getFirst("Authorization");
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
-        }
-
-        // Extract token
-        String token = authHeader.replace("Bearer ", "");
-
-        // Validate token
-        if (!tokenService.validateToken(token)) {
-            return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
-        }
-
-        // Get user info from token
-        TokenInfo tokenInfo = tokenService.getUserFromToken(token);
+        TokenInfo tokenInfo = exchange.getAttribute(TOKEN_INFO_ATTRIBUTE);
 
         if (tokenInfo == null) {
-            return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
+            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
+            }
+            return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
         }
 
-        // Add user info to request headers
-        ServerHttpRequest modifiedRequest = request.mutate()
-                .header("X-User-Id", String.valueOf(tokenInfo.getUserId()))
-                .header("X-User-Email", tokenInfo.getEmail())
-                .header("X-User-Role", tokenInfo.getRole())
-                .build();
-
-        // Continue with modified request
-        return chain.filter(exchange.mutate().request(modifiedRequest).build());
+        return chain.filter(exchange);
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus httpStatus) {
@@ -72,4 +52,3 @@ public class AuthenticationFilter implements GatewayFilter {
         return response.writeWith(Mono.just(buffer));
     }
 }
-
@@ -0,0 +1,63 @@
+package com.Gateway.Server.filters;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * gateway.route.latency for the requests the gateway's own controllers serve (/auth/**, /bff/**). Their handler
+ * mapping runs before the route mapping, so no route and none of the GlobalFilters (RouteMetricsFilter,
+ * UpstreamTimingFilter, TraceContextFilter) ever see them.
+ * The route tag comes from the handler: AuthController is "auth-route", BffController "bff-route".
+ * Requests rejected before a handler is chosen (Spring Security, rate limit) are not recorded.
+ */
+@Component
+@RequiredArgsConstructor
+public class ControllerMetricsWebFilter implements WebFilter, Ordered {
+
+    private final RouteMetricsFilter routeMetricsFilter;
+    private final Map<Class<?>, String> routeIds = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, signal, System.nanoTime() - start));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long nanos) {
+        // Routed requests are RouteMetricsFilter's
+        if (exchange.getAttribute(GATEWAY_ROUTE_ATTR) != null
+                || !(exchange.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)
+                || !AnnotatedElementUtils.hasAnnotation(handler.getBeanType(), Controller.class)) {
+            return;
+        }
+        routeMetricsFilter.recordLocal(routeIds.computeIfAbsent(handler.getBeanType(), ControllerMetricsWebFilter::routeId),
+                exchange, signal, nanos);
+    }
+
+    private static String routeId(Class<?> controller) {
+        String name = controller.getSimpleName().replaceFirst("Controller$", "");
+        return name.toLowerCase(Locale.ROOT) + "-route";
+    }
+
+    @Override
+    public int getOrder() {
+        // Ahead of the Spring Security chain (-100), so the JWT check is part of the measured time
+        return -200;
+    }
+}
@@ -1,28 +1,39 @@
 package com.Gateway.Server.filters;
 
-import com.Gateway.Server.exception.JwtException;
-import com.Gateway.Server.exception.UnauthorizedException;
-import com.Gateway.Server.service.JwtTokenProvider;
-import io.jsonwebtoken.Claims;
+import com.Gateway.Server.model.TokenInfo;
+import com.Gateway.Server.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
-import org.springframework.stereotype.Component;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
- * Reactive JWT authentication filter
- * Validates JWT token from Authorization header and extracts claims
+ * The gateway's single authentication stage, registered in the Spring Security chain by SecurityConfig.
+ * Verifies the Bearer token once per request, then:
+ * - caches the verified TokenInfo on the exchange (AuthenticationFilter.TOKEN_INFO_ATTRIBUTE), which route
+ *   filters read instead of verifying again,
+ * - sets the Spring Security principal (ROLE_<role>),
+ * - forwards the user as X-User-Id / X-User-Email / X-User-Role, in one request mutation.
+ * X-User-* headers sent by the client itself are always removed, only a verified token can set them.
  */
-@Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter implements WebFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+
+    private final TokenService tokenService;
 
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String AUTHORIZATION_HEADER = HttpHeaders.AUTHORIZATION;
@@ -33,53 +44,65 @@ public class JwtAuthenticationFilter implements WebFilter {
 
         // Skip JWT validation for public endpoints
         if (isPublicEndpoint(requestPath)) {
-            return chain.filter(exchange);
+            return chain.filter(withoutUserHeaders(exchange));
         }
 
         // Extract Authorization header
         String authHeader = exchange.getRequest().getHeaders().getFirst(AUTHORIZATION_HEADER);
 
         if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
-            // No token provided - continue to next filter (SecurityConfig will handle authorization)
-            return chain.filter(exchange);
+            // No token provided - continue to next filter (SecurityConfig and the route filters handle authorization)
+            return chain.filter(withoutUserHeaders(exchange));
         }
 
+        TokenInfo tokenInfo;
         try {
-            String token = authHeader.replace(BEARER_PREFIX, "");
-
-            // Validate JWT token
-            Claims claims = jwtTokenProvider.validateToken(token);
-
-            // Extract claims and add as attributes
-            Long userId = ((Number) claims.get("userId")).longValue();
-            String email = claims.get("email", String.class);
-            String role = claims.get("role", String.class);
-
-            // Store in request attributes for downstream use
-            exchange.getAttributes().put("userId", userId);
-            exchange.getAttributes().put("userEmail", email);
-            exchange.getAttributes().put("userRole", role);
-
-            // Add to request headers for microservices to use
-            ServerWebExchange modifiedExchange = exchange.mutate()
-                    .request(exchange.getRequest().mutate()
-                            .header("X-User-Id", String.valueOf(userId))
-                            .header("X-User-Email", email)
-                            .header("X-User-Role", role)
-                            .build())
-                    .build();
-
-            log.debug("JWT validated for user: {} with role: {}", email, role);
-            return chain.filter(modifiedExchange);
-
-        } catch (JwtException e) {
-            log.warn("JWT validation failed: {}", e.getMessage());
-            // Continue to next filter - UnauthorizedException will be handled by SecurityConfig
-            return chain.filter(exchange);
+            tokenInfo = tokenService.authenticate(authHeader.substring(BEARER_PREFIX.length()));
         } catch (Exception e) {
             log.error("Unexpected error in JWT filter: {}", e.getMessage(), e);
-            return chain.filter(exchange);
+            tokenInfo = null;
+        }
+
+        if (tokenInfo == null) {
+            log.warn("JWT validation failed for {}", requestPath);
+            // Continue to next filter - protected routes reject the request
+            return chain.filter(withoutUserHeaders(exchange));
+        }
+
+        exchange.getAttributes().put(AuthenticationFilter.TOKEN_INFO_ATTRIBUTE, tokenInfo);
+
+        // Add to request headers for microservices to use (replacing any value sent by the client)
+        TokenInfo user = tokenInfo;
+        ServerWebExchange authenticated = exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.set(USER_ID_HEADER, String.valueOf(user.getUserId()));
+                    headers.set(USER_EMAIL_HEADER, user.getEmail());
+                    headers.set(USER_ROLE_HEADER, user.getRole());
+                }))
+                .build();
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                tokenInfo, null, List.of(new SimpleGrantedAuthority("ROLE_" + tokenInfo.getRole())));
+
+        log.debug("JWT validated for user: {} with role: {}", user.getEmail(), user.getRole());
+        return chain.filter(authenticated)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    private static ServerWebExchange withoutUserHeaders(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        if (!headers.containsKey(USER_ID_HEADER) && !headers.containsKey(USER_EMAIL_HEADER)
+                && !headers.containsKey(USER_ROLE_HEADER)) {
+            return exchange;
         }
+        return exchange.mutate()
+                .request(request.mutate().headers(mutable -> {
+                    mutable.remove(USER_ID_HEADER);
+                    mutable.remove(USER_EMAIL_HEADER);
+                    mutable.remove(USER_ROLE_HEADER);
+                }).build())
+                .build();
     }
 
     /**
@@ -88,9 +111,7 @@ public class JwtAuthenticationFilter implements WebFilter {
     private boolean isPublicEndpoint(String path) {
         return path.equals("/auth/login") ||
                 path.equals("/auth/register") ||
-                path.equals("/auth/logout") ||
                 path.startsWith("/actuator/") ||
                 path.equals("/error");
     }
 }
-
@@ -0,0 +1,90 @@
+package com.Gateway.Server.filters;
+
+import com.Gateway.Server.config.RateLimitProperties;
+import com.Gateway.Server.model.TokenInfo;
+import com.Gateway.Server.service.RateLimiterService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control per route: authenticated callers are limited by user id, anonymous ones by client IP.
+ * Place it after AuthenticationFilter on protected routes so the verified user is known.
+ * Limits come from gateway.rate-limit.routes.&lt;route id&gt; (or gateway.rate-limit.defaults).
+ * Requests served by the gateway's own controllers never match a route: see {@link AuthRateLimitWebFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter implements GatewayFilter {
+
+    private final RateLimiterService rateLimiterService;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+        return limit(exchange, routeId, () -> chain.filter(exchange));
+    }
+
+    /**
+     * Runs {@code admitted} if the client still has a token under the limits of {@code routeId}, else answers 429.
+     */
+    public Mono<Void> limit(ServerWebExchange exchange, String routeId, Supplier<Mono<Void>> admitted) {
+        if (!properties.isEnabled()) {
+            return admitted.get();
+        }
+
+        long waitNanos = rateLimiterService.tryAcquire(routeId, clientKey(exchange));
+        if (waitNanos == 0) {
+            return admitted.get();
+        }
+
+        meterRegistry.counter("gateway.ratelimit.rejected", "route", routeId).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return onError(exchange, retryAfterSeconds);
+    }
+
+    private static String clientKey(ServerWebExchange exchange) {
+        // Only a verified token identifies a user; an X-User-Id sent by the client itself is not trusted
+        TokenInfo tokenInfo = exchange.getAttribute(AuthenticationFilter.TOKEN_INFO_ATTRIBUTE);
+        if (tokenInfo != null) {
+            return "user:" + tokenInfo.getUserId();
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? "ip:" + remoteAddress.getAddress().getHostAddress()
+                : "ip:unknown";
+    }
+
+    private Mono<Void> onError(ServerWebExchange exchange, long retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().add("Content-Type", "application/json");
+        response.getHeaders().add(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        String errorResponse = String.format("{\"error\":\"%s\",\"message\":\"%s\"}",
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(), "Rate limit exceeded, retry later");
+
+        DataBuffer buffer = response.bufferFactory()
+                .wrap(errorResponse.getBytes(StandardCharsets.UTF_8));
+
+        return response.writeWith(Mono.just(buffer));
+    }
+}
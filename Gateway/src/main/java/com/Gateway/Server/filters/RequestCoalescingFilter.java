@@ -0,0 +1,149 @@
+package com.Gateway.Server.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for GETs: while a request is in flight upstream, identical requests (same path, query and
+ * Accept header) wait for it instead of being proxied, and receive a copy of its buffered response.
+ * Responses bigger than gateway.coalescing.max-body-bytes, streamed ones, or a failed leader make the
+ * waiters fall back to normal proxying. Only for routes whose responses do not depend on the caller.
+ */
+@Component
+public class RequestCoalescingFilter implements GatewayFilter {
+
+    // Per-connection or per-client headers that must not be copied to the other waiters
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(), HttpHeaders.SET_COOKIE.toLowerCase());
+
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxBodyBytes;
+
+    public RequestCoalescingFilter(MeterRegistry meterRegistry,
+                                   @Value("${gateway.coalescing.enabled:true}") boolean enabled,
+                                   @Value("${gateway.coalescing.max-body-bytes:1048576}") long maxBodyBytes) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String query = request.getURI().getRawQuery();
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        String key = request.getPath().value() + (query != null ? "?" + query : "") + "|" + (accept != null ? accept : "");
+
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return follow(exchange, chain, leader);
+        }
+
+        count("leader");
+        return chain.filter(exchange.mutate().response(sharing(exchange.getResponse(), key, sink)).build())
+                .doFinally(signal -> {
+                    // No shareable response (error, cancel, streamed body): waiters proxy on their own
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<SharedResponse> leader) {
+        return leader.asMono()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        count("fallback");
+                        return chain.filter(exchange);
+                    }
+                    count("collapsed");
+                    return write(exchange.getResponse(), shared.get());
+                });
+    }
+
+    private ServerHttpResponse sharing(ServerHttpResponse original, String key, Sinks.One<SharedResponse> sink) {
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (getHeaders().getContentLength() > maxBodyBytes) {
+                    release();
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    if (bytes.length <= maxBodyBytes) {
+                        inFlight.remove(key, sink);
+                        sink.tryEmitValue(new SharedResponse(getStatusCode(), shareableHeaders(getHeaders()), bytes));
+                    } else {
+                        release();
+                    }
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+
+            private void release() {
+                inFlight.remove(key, sink);
+                sink.tryEmitEmpty();
+            }
+        };
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        shared.headers().forEach((name, values) -> response.getHeaders().put(name, values));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static HttpHeaders shareableHeaders(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lowerName = name.toLowerCase();
+            // CORS headers were computed for the leader's origin; each waiter already has its own
+            if (!UNSHARED_HEADERS.contains(lowerName) && !lowerName.startsWith("access-control-")) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        return copy;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("gateway.coalescing.requests", "result", result).increment();
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.Gateway.Server.filters;
+
+import com.Gateway.Server.service.ResponseCacheService;
+import com.Gateway.Server.service.ResponseCacheService.CachedResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caches successful GET responses of a route (place it after rewritePath, so entries are keyed by backend path).
+ * Entries are keyed by path, query and Accept header, live for the backend's Cache-Control max-age
+ * (or gateway.response-cache.ttl-seconds), and are then served stale for its stale-while-revalidate
+ * (or stale-seconds) while a single background request refreshes them. Responses marked
+ * no-store/private/no-cache or setting cookies are not cached.
+ * Limitation: {@link ResponseCachePurgeFilter} only sees writes made through the gateway. Stock taken by
+ * order-service goes straight to product-service, so product-service keeps max-age short on product reads
+ * and cached stock quantities lag by at most max-age + stale-while-revalidate.
+ */
+@Component
+public class ResponseCacheFilter implements GatewayFilter {
+
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Pattern STALE_WHILE_REVALIDATE = Pattern.compile("stale-while-revalidate=(\\d+)");
+
+    private final ResponseCacheService responseCache;
+    private final WebClient productServiceWebClient;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final long maxEntryBytes;
+
+    public ResponseCacheFilter(ResponseCacheService responseCache,
+                               @Qualifier("productServiceWebClient") WebClient productServiceWebClient,
+                               @Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                               @Value("${gateway.response-cache.ttl-seconds:30}") long ttlSeconds,
+                               @Value("${gateway.response-cache.stale-seconds:60}") long staleSeconds,
+                               @Value("${gateway.response-cache.max-entry-bytes:1048576}") long maxEntryBytes) {
+        this.responseCache = responseCache;
+        this.productServiceWebClient = productServiceWebClient;
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.staleMillis = staleSeconds * 1000;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String path = request.getPath().value();
+        String query = request.getURI().getRawQuery();
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        String key = path + (query != null ? "?" + query : "") + "|" + (accept != null ? accept : "");
+
+        CachedResponse entry = responseCache.get(key);
+        switch (responseCache.classify(entry)) {
+            case HIT:
+                return write(exchange, entry, "HIT");
+            case STALE:
+                revalidate(exchange, key, path, query, accept, entry);
+                return write(exchange, entry, "STALE");
+            default:
+                long generation = responseCache.currentGeneration();
+                return chain.filter(exchange.mutate()
+                        .response(capturing(exchange.getResponse(), key, path, generation))
+                        .build());
+        }
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse entry, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().putAll(entry.headers());
+        response.getHeaders().set("X-Cache", cacheStatus);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    // Copies the body on its way to the client and stores it if the response is cacheable
+    private ServerHttpResponse capturing(ServerHttpResponse original, String key, String path, long generation) {
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable(getStatusCode(), getHeaders())) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    if (bytes.length <= maxEntryBytes) {
+                        responseCache.put(key, toEntry(path, getHeaders(), bytes), generation);
+                    }
+                    getHeaders().set("X-Cache", "MISS");
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+    }
+
+    // At most one refresh per entry at a time; on failure the next stale hit tries again
+    private void revalidate(ServerWebExchange exchange, String key, String path, String query, String accept,
+                            CachedResponse entry) {
+        if (!entry.revalidating().compareAndSet(false, true)) {
+            return;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            entry.revalidating().set(false);
+            return;
+        }
+
+        // lb://product-service -> http://product-service, resolved by the load-balanced client
+        URI uri = URI.create("http://" + route.getUri().getHost() + path + (query != null ? "?" + query : ""));
+        long generation = responseCache.currentGeneration();
+        productServiceWebClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (accept != null) {
+                        headers.set(HttpHeaders.ACCEPT, accept);
+                    }
+                    headers.set("X-Request-Origin", "Gateway");
+                })
+                .retrieve()
+                .toEntity(byte[].class)
+                .doOnNext(response -> {
+                    byte[] body = response.getBody() != null ? response.getBody() : new byte[0];
+                    if (isCacheable(response.getStatusCode(), response.getHeaders()) && body.length <= maxEntryBytes) {
+                        responseCache.put(key, toEntry(path, response.getHeaders(), body), generation);
+                    }
+                })
+                .doFinally(signal -> entry.revalidating().set(false))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
+
+    private boolean isCacheable(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        long contentLength = headers.getContentLength();
+        if (contentLength > maxEntryBytes) {
+            return false;
+        }
+        MediaType contentType = headers.getContentType();
+        if (contentType != null && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType))) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private") || cacheControl.contains("no-cache"));
+    }
+
+    private CachedResponse toEntry(String path, HttpHeaders responseHeaders, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : STORED_HEADERS) {
+            List<String> values = responseHeaders.get(name);
+            if (values != null) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+
+        long ttl = ttlMillis;
+        long stale = staleMillis;
+        String cacheControl = responseHeaders.getCacheControl();
+        if (cacheControl != null) {
+            Matcher maxAge = MAX_AGE.matcher(cacheControl);
+            if (maxAge.find()) {
+                ttl = Long.parseLong(maxAge.group(1)) * 1000;
+            }
+            Matcher staleWhileRevalidate = STALE_WHILE_REVALIDATE.matcher(cacheControl);
+            if (staleWhileRevalidate.find()) {
+                stale = Long.parseLong(staleWhileRevalidate.group(1)) * 1000;
+            }
+        }
+        long now = System.currentTimeMillis();
+        return new CachedResponse(path, headers, body, now + ttl, now + ttl + stale, new AtomicBoolean());
+    }
+}
@@ -0,0 +1,41 @@
+package com.Gateway.Server.filters;
+
+import com.Gateway.Server.service.ResponseCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Purges cached GET responses once a write through the route succeeded (place it after rewritePath,
+ * like {@link ResponseCacheFilter}). The whole collection of the written path is dropped:
+ * writing /products/5 also invalidates the /products listings and lookups that may contain it.
+ * Writes that bypass the gateway (order-service reserving stock) are not seen here; see {@link ResponseCacheFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCachePurgeFilter implements GatewayFilter {
+
+    private final ResponseCacheService responseCache;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String collection = collectionOf(exchange.getRequest().getPath().value());
+        return chain.filter(exchange)
+                .then(Mono.fromRunnable(() -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        responseCache.purge(collection);
+                    }
+                }));
+    }
+
+    // "/products/5/stock" -> "/products"
+    private static String collectionOf(String path) {
+        int next = path.indexOf('/', 1);
+        return next > 0 ? path.substring(0, next) : path;
+    }
+}
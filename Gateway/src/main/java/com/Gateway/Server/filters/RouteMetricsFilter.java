@@ -0,0 +1,141 @@
+package com.Gateway.Server.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Latency histograms per route, status class and upstream instance, exposed as gateway.route.latency on
+ * /actuator/metrics (and /actuator/prometheus when a registry is present). The phase tag splits each request in:
+ * pre (gateway filters before the upstream call), upstream (until the upstream response headers),
+ * post (writing the body and filters on the way back) and total. Requests answered by the gateway itself
+ * (cache hit, rejected by auth or rate limit) only have a total, with instance "none".
+ * Upstream instances beyond gateway.route-metrics.max-instances are tagged "other" to bound cardinality.
+ * Requests served by the gateway's own controllers match no route: {@link ControllerMetricsWebFilter} records
+ * them in the same histograms.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final String NO_INSTANCE = "none";
+    private static final String OTHER_INSTANCE = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxInstances;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Set<String> instances = ConcurrentHashMap.newKeySet();
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry,
+                              @Value("${gateway.route-metrics.enabled:true}") boolean enabled,
+                              @Value("${gateway.route-metrics.max-instances:64}") int maxInstances) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxInstances = maxInstances;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, signal, start, System.nanoTime()));
+    }
+
+    /**
+     * Records a request answered by the gateway itself under {@code routeId}: total phase only, instance "none".
+     */
+    void recordLocal(String routeId, ServerWebExchange exchange, SignalType signal, long nanos) {
+        if (enabled) {
+            timer(routeId, status(exchange, signal), NO_INSTANCE, "total").record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long start, long end) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "none";
+        String status = status(exchange, signal);
+
+        Long upstreamStart = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_START_ATTRIBUTE);
+        Long upstreamEnd = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_END_ATTRIBUTE);
+        if (upstreamStart == null || upstreamEnd == null) {
+            timer(routeId, status, NO_INSTANCE, "total").record(end - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        String instance = instance(exchange);
+        timer(routeId, status, instance, "pre").record(upstreamStart - start, TimeUnit.NANOSECONDS);
+        timer(routeId, status, instance, "upstream").record(upstreamEnd - upstreamStart, TimeUnit.NANOSECONDS);
+        timer(routeId, status, instance, "post").record(end - upstreamEnd, TimeUnit.NANOSECONDS);
+        timer(routeId, status, instance, "total").record(end - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String status(ServerWebExchange exchange, SignalType signal) {
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        return statusCode != null && signal != SignalType.ON_ERROR
+                ? STATUS_CLASSES[Math.min(Math.max(statusCode.value() / 100, 1), 5) - 1]
+                : "5xx";
+    }
+
+    private String instance(ServerWebExchange exchange) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || url.getHost() == null) {
+            return NO_INSTANCE;
+        }
+        String instance = url.getPort() > 0 ? url.getHost() + ":" + url.getPort() : url.getHost();
+        if (instances.contains(instance)) {
+            return instance;
+        }
+        // Racy by a few entries at most, good enough for a cardinality guard
+        if (instances.size() < maxInstances) {
+            instances.add(instance);
+            return instance;
+        }
+        return OTHER_INSTANCE;
+    }
+
+    private Timer timer(String routeId, String status, String instance, String phase) {
+        return timers.computeIfAbsent(new TimerKey(routeId, status, instance, phase), key -> Timer
+                .builder("gateway.route.latency")
+                .tag("route", key.routeId())
+                .tag("status", key.status())
+                .tag("instance", key.instance())
+                .tag("phase", key.phase())
+                .publishPercentileHistogram()
+                // Bounds the histogram to the buckets between 1 ms and 30 s
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost gateway filter, so "total" covers the access log and every route filter
+        return -3;
+    }
+
+    private record TimerKey(String routeId, String status, String instance, String phase) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.Gateway.Server.filters;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs right before the routing filters and stores on the exchange when the upstream call started and when
+ * its response headers came back, so logging and metrics can tell upstream time from gateway time.
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    public static final String UPSTREAM_START_ATTRIBUTE = "gateway.upstreamStartNanos";
+    public static final String UPSTREAM_END_ATTRIBUTE = "gateway.upstreamEndNanos";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        exchange.getAttributes().put(UPSTREAM_START_ATTRIBUTE, System.nanoTime());
+        return chain.filter(exchange)
+                .doFinally(signal -> exchange.getAttributes().put(UPSTREAM_END_ATTRIBUTE, System.nanoTime()));
+    }
+
+    /**
+     * Upstream time in nanoseconds, or -1 when the request never reached the routing filters.
+     */
+    public static long upstreamNanos(ServerWebExchange exchange) {
+        Long start = exchange.getAttribute(UPSTREAM_START_ATTRIBUTE);
+        Long end = exchange.getAttribute(UPSTREAM_END_ATTRIBUTE);
+        return start != null && end != null ? end - start : -1;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.Gateway.Server.filters;
+
+import com.Gateway.Server.service.UserProfileCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drops the cached /auth/me profile of a user modified through the gateway (PUT/DELETE /MS-CLIENT/users/{id}/...
+ * and /MS-CLIENT/api/v1/users/{id}/..., the storefront's path).
+ * The entry is dropped before forwarding and again once MS-CLIENT has answered, so a profile
+ * loaded while the update was in flight is not kept either.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileInvalidationFilter implements GatewayFilter {
+
+    // Matches both the public path and the rewritten /api/v1/users/{id} one
+    private static final Pattern USER_ID = Pattern.compile("/users/(\\d+)(/.*)?$");
+
+    private final UserProfileCache userProfileCache;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Matcher matcher = USER_ID.matcher(exchange.getRequest().getPath().value());
+        if (!matcher.find()) {
+            return chain.filter(exchange);
+        }
+
+        Long userId = Long.valueOf(matcher.group(1));
+        userProfileCache.invalidate(userId);
+        return chain.filter(exchange)
+                .doFinally(signal -> userProfileCache.invalidate(userId));
+    }
+}
@@ -16,7 +16,7 @@ public class TokenInfo {
     private String email;
     private String role; // CLIENT or ADMIN
     private Instant createdAt;
-    @Builder.Default
-    private boolean blacklisted = false; // Flag for logout/revocation
+    private String tokenId; // jti claim, the key used for logout/revocation
+    private Instant expiresAt;
 }
 
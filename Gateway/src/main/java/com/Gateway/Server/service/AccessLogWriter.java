@@ -0,0 +1,118 @@
+package com.Gateway.Server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes access-log lines off the Netty event loop. Request threads only offer a small record to a bounded
+ * ring buffer (never blocking: when it is full the line is dropped and counted), a single daemon thread
+ * formats and logs them in batches through the "access" logger.
+ */
+@Service
+public class AccessLogWriter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+    private static final int BATCH_SIZE = 256;
+
+    private final ArrayBlockingQueue<Entry> buffer;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(MeterRegistry meterRegistry,
+                           @Value("${gateway.access-log.buffer-size:8192}") int bufferSize) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.dropped = Counter.builder("gateway.access-log.dropped").register(meterRegistry);
+        Gauge.builder("gateway.access-log.buffered", buffer, ArrayBlockingQueue::size).register(meterRegistry);
+
+        this.writer = new Thread(this::drain, "access-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void offer(Entry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        StringBuilder line = new StringBuilder(256);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Entry first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Shutdown: flush what is left without waiting
+                running = false;
+            }
+            buffer.drainTo(batch, BATCH_SIZE - batch.size());
+            for (Entry entry : batch) {
+                line.setLength(0);
+                entry.appendTo(line);
+                accessLog.info(line.toString());
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * One request: durations in microseconds, upstreamMicros and bytes are -1 when unknown.
+     */
+    public record Entry(String method, String path, String routeId, int status,
+                        long durationMicros, long upstreamMicros, long bytes, boolean cancelled) {
+
+        void appendTo(StringBuilder line) {
+            line.append("method=").append(method)
+                    .append(" path=").append(path)
+                    .append(" route=").append(routeId)
+                    .append(" status=").append(status)
+                    .append(" duration_ms=");
+            appendMillis(line, durationMicros);
+            line.append(" upstream_ms=");
+            appendMillis(line, upstreamMicros);
+            line.append(" bytes=").append(bytes);
+            if (cancelled) {
+                line.append(" cancelled=true");
+            }
+        }
+
+        private static void appendMillis(StringBuilder line, long micros) {
+            if (micros < 0) {
+                line.append('-');
+                return;
+            }
+            line.append(micros / 1000).append('.');
+            long fraction = micros % 1000;
+            if (fraction < 100) {
+                line.append('0');
+            }
+            if (fraction < 10) {
+                line.append('0');
+            }
+            line.append(fraction);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.Gateway.Server.service;
+
+import com.Gateway.Server.dto.CartViewResponse;
+import com.Gateway.Server.dto.UserDTO;
+import com.Gateway.Server.filters.JwtAuthenticationFilter;
+import com.Gateway.Server.model.TokenInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the storefront cart page in one call: the user profile (MS-CLIENT, through the profile cache) and the
+ * cart (order service) are fetched in parallel, each with its own timeout. A failed branch leaves its part empty
+ * and is reported in errors instead of failing the whole page.
+ */
+@Service
+@Slf4j
+public class CartViewService {
+
+    static final String USER_BRANCH = "user";
+    static final String CART_BRANCH = "cart";
+
+    private final UserProfileCache userProfileCache;
+    private final ReactiveCircuitBreaker userServiceCircuitBreaker;
+    private final WebClient orderServiceWebClient;
+    private final Duration userTimeout;
+    private final Duration cartTimeout;
+
+    public CartViewService(UserProfileCache userProfileCache,
+                           ReactiveCircuitBreaker userServiceCircuitBreaker,
+                           @Qualifier("orderServiceWebClient") WebClient orderServiceWebClient,
+                           @Value("${gateway.bff.user-timeout-ms:1000}") long userTimeoutMs,
+                           @Value("${gateway.bff.cart-timeout-ms:2000}") long cartTimeoutMs) {
+        this.userProfileCache = userProfileCache;
+        this.userServiceCircuitBreaker = userServiceCircuitBreaker;
+        this.orderServiceWebClient = orderServiceWebClient;
+        this.userTimeout = Duration.ofMillis(userTimeoutMs);
+        this.cartTimeout = Duration.ofMillis(cartTimeoutMs);
+    }
+
+    public Mono<CartViewResponse> getCartView(TokenInfo user) {
+        Mono<Branch<UserDTO>> userBranch = branch(USER_BRANCH,
+                userServiceCircuitBreaker.run(userProfileCache.getUser(user.getUserId())), userTimeout);
+
+        Mono<Branch<JsonNode>> cartBranch = branch(CART_BRANCH, orderServiceWebClient.get()
+                .uri("/api/cart")
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, String.valueOf(user.getUserId()))
+                .header(JwtAuthenticationFilter.USER_EMAIL_HEADER, user.getEmail())
+                .header(JwtAuthenticationFilter.USER_ROLE_HEADER, user.getRole())
+                .retrieve()
+                .bodyToMono(JsonNode.class), cartTimeout);
+
+        return Mono.zip(userBranch, cartBranch).map(branches -> {
+            Map<String, String> errors = new LinkedHashMap<>();
+            if (branches.getT1().error() != null) {
+                errors.put(USER_BRANCH, branches.getT1().error());
+            }
+            if (branches.getT2().error() != null) {
+                errors.put(CART_BRANCH, branches.getT2().error());
+            }
+            return CartViewResponse.builder()
+                    .user(branches.getT1().value())
+                    .cart(branches.getT2().value())
+                    .partial(!errors.isEmpty())
+                    .errors(errors)
+                    .build();
+        });
+    }
+
+    /**
+     * True when no branch answered at all.
+     */
+    public static boolean failedEntirely(CartViewResponse response) {
+        return response.getUser() == null && response.getCart() == null;
+    }
+
+    private static <T> Mono<Branch<T>> branch(String name, Mono<T> call, Duration timeout) {
+        return call
+                .timeout(timeout)
+                .map(value -> new Branch<T>(value, null))
+                .switchIfEmpty(Mono.fromSupplier(() -> new Branch<>(null, "Not found")))
+                .onErrorResume(e -> {
+                    String reason = e instanceof TimeoutException
+                            ? "Timed out after " + timeout.toMillis() + " ms"
+                            : "Unavailable: " + e.getMessage();
+                    log.warn("cart-view {} branch failed: {}", name, reason);
+                    return Mono.just(new Branch<>(null, reason));
+                });
+    }
+
+    private record Branch<T>(T value, String error) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.Gateway.Server.service;
+
+import com.Gateway.Server.model.TokenInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded cache of already verified tokens, so a client reusing its JWT is not verified and parsed again
+ * on every request. Entries are keyed by the SHA-256 digest of the token (raw tokens are never kept) and
+ * expire with the token itself.
+ * Lookups are lock-free. Eviction is approximate LRU: once the cache grows past max-entries, a single
+ * thread trims it to 90% of the limit, dropping expired entries first and then the least recently used.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    public JwtClaimsCache(@Value("${gateway.jwt.claims-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the verified token info, or null if the token is not cached or has expired since
+     */
+    public TokenInfo get(String token) {
+        Key key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.expiresAtMillis <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        entry.lastAccessMillis = now;
+        return entry.tokenInfo;
+    }
+
+    public void put(String token, TokenInfo tokenInfo, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (maxEntries <= 0 || expiresAtMillis <= now) {
+            return;
+        }
+        entries.put(digest(token), new Entry(tokenInfo, expiresAtMillis, now));
+        if (entries.size() > maxEntries && trimming.compareAndSet(false, true)) {
+            try {
+                trim(now);
+            } finally {
+                trimming.set(false);
+            }
+        }
+    }
+
+    public void evict(String token) {
+        entries.remove(digest(token));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Trimming to 90% rather than to the limit keeps the sort off all but one put in maxEntries / 10
+    private void trim(long now) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+        int target = maxEntries - maxEntries / 10;
+        int excess = entries.size() - target;
+        if (excess <= 0) {
+            return;
+        }
+
+        long[] accesses = entries.values().stream().mapToLong(entry -> entry.lastAccessMillis).toArray();
+        if (excess >= accesses.length) {
+            entries.clear();
+            return;
+        }
+        Arrays.sort(accesses);
+        long cutoff = accesses[excess - 1];
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            if (iterator.next().lastAccessMillis <= cutoff) {
+                iterator.remove();
+                excess--;
+            }
+        }
+    }
+
+    private static Key digest(String token) {
+        ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new Key(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    // The 256-bit digest as four longs: no Base64 string per lookup, and record equals/hashCode for free
+    private record Key(long h0, long h1, long h2, long h3) {
+    }
+
+    private static final class Entry {
+        private final TokenInfo tokenInfo;
+        private final long expiresAtMillis;
+        // Written on every hit without coordination: a lost update only makes eviction a little less exact
+        private volatile long lastAccessMillis;
+
+        private Entry(TokenInfo tokenInfo, long expiresAtMillis, long lastAccessMillis) {
+            this.tokenInfo = tokenInfo;
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+}
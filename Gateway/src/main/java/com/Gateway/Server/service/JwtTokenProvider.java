@@ -4,6 +4,7 @@ import com.Gateway.Server.exception.JwtException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,7 @@ import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for generating and validating JWT tokens
@@ -31,6 +33,18 @@ public class JwtTokenProvider {
     @Value("${gateway.jwt.issuer:gateway-server}")
     private String issuer;
 
+    // Built once: deriving the key and assembling a parser on every call showed up on each request
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
      * Generate JWT token with user claims
      */
@@ -50,15 +64,14 @@ public class JwtTokenProvider {
         Instant now = Instant.now();
         Instant expiryTime = now.plusSeconds(tokenTtlSeconds);
 
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString()) // jti: lets a single token be revoked on logout
                 .subject(subject)
                 .issuer(issuer)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiryTime))
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -67,13 +80,7 @@ public class JwtTokenProvider {
      */
     public Claims validateToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             throw new JwtException("JWT token has expired", e);
         } catch (UnsupportedJwtException e) {
@@ -0,0 +1,78 @@
+package com.Gateway.Server.service;
+
+import com.Gateway.Server.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token buckets, one per (route, client).
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (GCRA, the token bucket
+ * expressed as a timestamp): admitting a request is one CAS, with no lock and no refill bookkeeping.
+ * A bucket whose arrival time is in the past is full again, i.e. indistinguishable from a fresh one,
+ * so idle buckets are dropped by the sweep without changing any decision.
+ */
+@Service
+@RequiredArgsConstructor
+public class RateLimiterService {
+
+    private static final String OVERFLOW_KEY = "overflow";
+
+    private final RateLimitProperties properties;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Takes one token from the client's bucket on the route.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String routeId, String clientKey) {
+        RateLimitProperties.Limit limit = properties.forRoute(routeId);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond());
+        long burstNanos = intervalNanos * (Math.max(1, limit.getCapacity()) - 1L);
+
+        AtomicLong bucket = bucket(routeId + '|' + clientKey, routeId);
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = bucket.get();
+            long start = arrival - now < 0 ? now : arrival;
+            long wait = start - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, String routeId) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxKeys()) {
+            // Memory stays bounded: clients beyond the limit are throttled together until the next sweep
+            // frees room. No eviction here, a full scan per new client would run on the event loop.
+            return buckets.computeIfAbsent(routeId + '|' + OVERFLOW_KEY, k -> new AtomicLong(System.nanoTime()));
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+
+    // A bucket whose arrival time has passed is full: forgetting it changes nothing
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.sweep-ms:30000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}
@@ -0,0 +1,122 @@
+package com.Gateway.Server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte-bounded LRU store of GET responses for the gateway response cache.
+ * An entry is fresh until its TTL, then may still be served while stale for a grace period,
+ * during which a single background request refreshes it.
+ */
+@Service
+public class ResponseCacheService {
+
+    public enum Lookup { HIT, STALE, MISS }
+
+    private final long maxBytes;
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong bytesHeld = new AtomicLong();
+    // Bumped by every purge: a response loaded before a write must not be stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    public ResponseCacheService(MeterRegistry meterRegistry,
+                                @Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.hits = Counter.builder("gateway.response-cache.requests").tag("result", "hit").register(meterRegistry);
+        this.staleHits = Counter.builder("gateway.response-cache.requests").tag("result", "stale").register(meterRegistry);
+        this.misses = Counter.builder("gateway.response-cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("gateway.response-cache.bytes", bytesHeld, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("gateway.response-cache.entries", this, ResponseCacheService::size).register(meterRegistry);
+    }
+
+    public CachedResponse get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Classifies the entry for the current request and records the hit/stale/miss metrics.
+     */
+    public Lookup classify(CachedResponse entry) {
+        long now = System.currentTimeMillis();
+        if (entry != null && now < entry.freshUntilMillis()) {
+            hits.increment();
+            return Lookup.HIT;
+        }
+        if (entry != null && now < entry.staleUntilMillis()) {
+            staleHits.increment();
+            return Lookup.STALE;
+        }
+        misses.increment();
+        return Lookup.MISS;
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a response, unless a purge happened since the request producing it was started.
+     */
+    public void put(String key, CachedResponse response, long loadedAtGeneration) {
+        if (response.body().length > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation.get() != loadedAtGeneration) {
+                return;
+            }
+            CachedResponse previous = entries.put(key, response);
+            bytesHeld.addAndGet(response.body().length - (previous != null ? previous.body().length : 0L));
+
+            // Least recently used entries go first
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while (bytesHeld.get() > maxBytes && eldest.hasNext()) {
+                bytesHeld.addAndGet(-eldest.next().body().length);
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops every entry whose path starts with the prefix.
+     */
+    public void purge(String pathPrefix) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            Iterator<CachedResponse> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CachedResponse entry = iterator.next();
+                if (entry.path().startsWith(pathPrefix)) {
+                    bytesHeld.addAndGet(-entry.body().length);
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public record CachedResponse(String path, HttpHeaders headers, byte[] body,
+                                 long freshUntilMillis, long staleUntilMillis, AtomicBoolean revalidating) {
+    }
+}
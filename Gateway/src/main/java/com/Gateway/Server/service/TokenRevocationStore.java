@@ -0,0 +1,161 @@
+package com.Gateway.Server.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Holds the ids (jti) of revoked tokens until the tokens would have expired anyway.
+ *
+ * Entries are filed in a timing wheel by expiry minute, so the sweep drops a whole elapsed slot at a time
+ * instead of re-validating every entry. A Bloom filter in front of the map answers the common
+ * "not revoked" case without a map lookup; it is rebuilt from the live entries after each sweep that
+ * removed something, since a Bloom filter cannot forget.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final long TICK_MILLIS = 60_000;
+    private static final int BLOOM_HASHES = 7;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Set<String>[] wheel;
+    private final int bloomBits;
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter bloomFilter;
+    private long lastSweptTick;
+
+    @SuppressWarnings("unchecked")
+    public TokenRevocationStore(@Value("${gateway.jwt.ttl-seconds:86400}") long tokenTtlSeconds,
+                                @Value("${gateway.jwt.revocation.expected-entries:100000}") int expectedEntries) {
+        // One slot per tick over a full token lifetime, plus slack so a slot is never reused before it is swept
+        int slots = (int) (tokenTtlSeconds * 1000 / TICK_MILLIS) + 2;
+        this.wheel = new Set[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        // ~1% false positives at the expected size: m = -n ln(p) / ln(2)^2 ~= 9.6 bits per entry
+        this.bloomBits = Math.max(1024, expectedEntries * 10);
+        this.bloomFilter = new BloomFilter(bloomBits);
+        this.lastSweptTick = System.currentTimeMillis() / TICK_MILLIS;
+    }
+
+    /**
+     * Revokes a token id until its expiry. Ids of already expired tokens are not stored.
+     */
+    public void revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        synchronized (writeLock) {
+            revoked.put(tokenId, expiresAtMillis);
+            wheel[slotOf(expiresAtMillis / TICK_MILLIS)].add(tokenId);
+            bloomFilter.add(tokenId);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Drops the entries of every fully elapsed slot. Entries filed in a slot by a token issued with a
+     * longer TTL than the current one (wheel wrap-around) are simply kept until a later lap.
+     */
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        long currentTick = now / TICK_MILLIS;
+        synchronized (writeLock) {
+            boolean removedAny = false;
+            // A full lap at most: older ticks map to the same slots
+            long firstTick = Math.max(lastSweptTick, currentTick - wheel.length);
+            for (long tick = firstTick; tick < currentTick; tick++) {
+                Set<String> slot = wheel[slotOf(tick)];
+                for (String tokenId : slot) {
+                    Long expiresAt = revoked.get(tokenId);
+                    if (expiresAt == null || expiresAt <= now) {
+                        revoked.remove(tokenId);
+                        slot.remove(tokenId);
+                        removedAny = true;
+                    }
+                }
+            }
+            lastSweptTick = currentTick;
+
+            if (removedAny) {
+                BloomFilter rebuilt = new BloomFilter(bloomBits);
+                revoked.keySet().forEach(rebuilt::add);
+                bloomFilter = rebuilt;
+            }
+        }
+    }
+
+    private int slotOf(long tick) {
+        return (int) (tick % wheel.length);
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final int size;
+
+        private BloomFilter(int size) {
+            this.size = size;
+            this.bits = new AtomicLongArray((size + 63) / 64);
+        }
+
+        void add(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, size);
+                int word = bit >>> 6;
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, size);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a; the two halves drive the double hashing above
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
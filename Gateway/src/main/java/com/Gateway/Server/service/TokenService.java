@@ -1,13 +1,11 @@
 package com.Gateway.Server.service;
 
 import com.Gateway.Server.model.TokenInfo;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for managing tokens - now using JWT instead of UUID
@@ -17,26 +15,10 @@ import java.util.concurrent.ConcurrentHashMap;
 public class TokenService {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final JwtClaimsCache claimsCache;
 
-    // In-memory token storage for logout/revocation (blacklist)
-    private final Map<String, TokenInfo> tokenStore = new ConcurrentHashMap<>();
-
-    /**
-     * Scheduled task to clean up expired tokens from the blacklist
-     * Runs every hour
-     */
-    @Scheduled(fixedRate = 3600000)
-    public void cleanupExpiredTokens() {
-        tokenStore.entrySet().removeIf(entry -> {
-            try {
-                // If token is invalid (expired), remove it from store
-                jwtTokenProvider.validateToken(entry.getKey());
-                return false; // Token is valid, keep it
-            } catch (Exception e) {
-                return true; // Token is expired/invalid, remove it
-            }
-        });
-    }
+    // Only revoked (logged out) token ids are kept, until the tokens expire
+    private final TokenRevocationStore revocationStore;
 
     /**
      * Generate a new JWT token
@@ -46,70 +28,75 @@ public class TokenService {
     }
 
     /**
-     * Store token information (for blacklist on logout)
+     * Verifies the token once and returns the user it carries, or null if it is invalid, expired or revoked.
+     * Verified tokens are served from {@link JwtClaimsCache} until they expire; revocation is checked every time.
      */
-    public void storeToken(String token, Long userId, String email, String role) {
-        TokenInfo tokenInfo = TokenInfo.builder()
-                .userId(userId)
-                .email(email)
-                .role(role)
-                .createdAt(Instant.now())
-                .build();
-        tokenStore.put(token, tokenInfo);
+    public TokenInfo authenticate(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        TokenInfo tokenInfo = claimsCache.get(token);
+        if (tokenInfo == null) {
+            try {
+                // Validate JWT signature and expiration, once
+                Claims claims = jwtTokenProvider.validateToken(token);
+                tokenInfo = toTokenInfo(token, claims);
+                claimsCache.put(token, tokenInfo, claims.getExpiration().getTime());
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        // Then check if token was revoked (logged out)
+        return revocationStore.isRevoked(tokenInfo.getTokenId()) ? null : tokenInfo;
     }
 
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
-        try {
-            // First check if token is blacklisted (logged out)
-            if (tokenStore.containsKey(token) && tokenStore.get(token).isBlacklisted()) {
-                return false;
-            }
-            // Then validate JWT signature and expiration
-            jwtTokenProvider.validateToken(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return authenticate(token) != null;
     }
 
     /**
      * Get user information from JWT token
      */
     public TokenInfo getUserFromToken(String token) {
-        try {
-            Long userId = jwtTokenProvider.extractUserId(token);
-            String email = jwtTokenProvider.extractEmail(token);
-            String role = jwtTokenProvider.extractRole(token);
+        return authenticate(token);
+    }
 
-            return TokenInfo.builder()
-                    .userId(userId)
-                    .email(email)
-                    .role(role)
-                    .createdAt(Instant.now())
-                    .build();
-        } catch (Exception e) {
-            return null;
-        }
+    private static TokenInfo toTokenInfo(String token, Claims claims) {
+        Object userId = claims.get("userId");
+        // Tokens issued before the jti claim existed are identified by their signature instead
+        String tokenId = claims.getId() != null ? claims.getId() : token.substring(token.lastIndexOf('.') + 1);
+        return TokenInfo.builder()
+                .userId(userId instanceof Number number ? number.longValue() : Long.parseLong(userId.toString()))
+                .email(claims.get("email", String.class))
+                .role(claims.get("role", String.class))
+                .createdAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : Instant.now())
+                .tokenId(tokenId)
+                .expiresAt(claims.getExpiration().toInstant())
+                .build();
     }
 
     /**
-     * Invalidate (blacklist) a token
+     * Invalidate (revoke) a token until it expires.
+     * Invalid or already expired tokens need no revocation and are ignored.
      */
     public void invalidateToken(String token) {
-        if (tokenStore.containsKey(token)) {
-            TokenInfo info = tokenStore.get(token);
-            info.setBlacklisted(true);
+        TokenInfo tokenInfo = authenticate(token);
+        if (tokenInfo != null) {
+            revocationStore.revoke(tokenInfo.getTokenId(), tokenInfo.getExpiresAt().toEpochMilli());
         }
+        claimsCache.evict(token);
     }
 
     /**
-     * Get all active tokens count (for monitoring)
+     * Get revoked, not yet expired tokens count (for monitoring)
      */
-    public int getActiveTokenCount() {
-        return tokenStore.size();
+    public int getRevokedTokenCount() {
+        return revocationStore.size();
     }
 
     /**
@@ -119,4 +106,3 @@ public class TokenService {
         return jwtTokenProvider.getTokenExpirationTime();
     }
 }
-
@@ -0,0 +1,117 @@
+package com.Gateway.Server.service;
+
+import com.Gateway.Server.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Short-lived cache of user profiles served by GET /auth/me, which the front-end calls on most page loads.
+ * Each entry holds the (cached) load itself, so concurrent misses for the same user share one MS-CLIENT call.
+ * Failed or empty loads are not kept. Profiles are dropped when a user is modified through the gateway.
+ */
+@Service
+public class UserProfileCache {
+
+    private final UserServiceClientReactive userServiceClient;
+    private final long ttlMillis;
+    private final Map<Long, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loadTimer;
+
+    public UserProfileCache(UserServiceClientReactive userServiceClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${gateway.user-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${gateway.user-cache.max-entries:10000}") int maxEntries) {
+        this.userServiceClient = userServiceClient;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.hits = Counter.builder("gateway.user-profile.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("gateway.user-profile.cache").tag("result", "miss").register(meterRegistry);
+        this.loadTimer = Timer.builder("gateway.user-profile.load").register(meterRegistry);
+        Gauge.builder("gateway.user-profile.cache.size", this, UserProfileCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @return the user's profile, without password, or empty if MS-CLIENT does not know the user
+     */
+    public Mono<UserDTO> getUser(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(userId);
+            if (entry != null && entry.expiresAtMillis() > now) {
+                hits.increment();
+                return entry.user();
+            }
+            misses.increment();
+            entry = new Entry(load(userId), now + ttlMillis);
+            entries.put(userId, entry);
+        }
+        return entry.user();
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Mono<UserDTO> load(Long userId) {
+        AtomicReference<Mono<UserDTO>> self = new AtomicReference<>();
+        Mono<UserDTO> load = Mono.defer(() -> {
+                    long startedAt = System.nanoTime();
+                    return userServiceClient.getUserById(userId)
+                            .doFinally(signal -> loadTimer.record(Duration.ofNanos(System.nanoTime() - startedAt)));
+                })
+                .map(user -> {
+                    // Never keep the hash around
+                    user.setPassword(null);
+                    return user;
+                })
+                .doOnSuccess(user -> {
+                    if (user == null) {
+                        evict(userId, self.get());
+                    }
+                })
+                .doOnError(error -> evict(userId, self.get()))
+                .cache();
+        self.set(load);
+        return load;
+    }
+
+    // Only drop the entry if it still holds this load, not a newer one started after an invalidation
+    private void evict(Long userId, Mono<UserDTO> load) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.user() == load) {
+                entries.remove(userId);
+            }
+        }
+    }
+
+    private record Entry(Mono<UserDTO> user, long expiresAtMillis) {
+    }
+}
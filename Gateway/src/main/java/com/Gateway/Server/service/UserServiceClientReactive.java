@@ -1,42 +1,84 @@
 package com.Gateway.Server.service;
 
 import com.Gateway.Server.dto.UserDTO;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ClientHttpRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class UserServiceClientReactive {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
+    private final Duration lookupTimeout;
+    private final Duration writeTimeout;
+
+    public UserServiceClientReactive(@Qualifier("userServiceWebClient") WebClient webClient,
+                                     @Value("${gateway.user-service.lookup-timeout-ms:2000}") long lookupTimeoutMs,
+                                     @Value("${gateway.user-service.write-timeout-ms:5000}") long writeTimeoutMs) {
+        this.webClient = webClient;
+        this.lookupTimeout = Duration.ofMillis(lookupTimeoutMs);
+        this.writeTimeout = Duration.ofMillis(writeTimeoutMs);
+    }
 
+    // Lean credentials-only lookup (id, email, role, password hash) for the login path
     public Mono<UserDTO> getUserByEmail(String email) {
-        return webClientBuilder.build()
-                .get()
-                .uri("http://MS-CLIENT/api/v1/users/email/{email}", email)
+        return webClient.get()
+                .uri("/api/v1/users/auth/{email}", email)
+                .httpRequest(responseTimeout(lookupTimeout))
                 .retrieve()
                 .bodyToMono(UserDTO.class)
                 .onErrorResume(e -> Mono.empty());
     }
 
     public Mono<UserDTO> getUserById(Long id) {
-        return webClientBuilder.build()
-                .get()
-                .uri("http://MS-CLIENT/api/v1/users/{id}", id)
+        return webClient.get()
+                .uri("/api/v1/users/{id}", id)
+                .httpRequest(responseTimeout(lookupTimeout))
                 .retrieve()
                 .bodyToMono(UserDTO.class)
                 .onErrorResume(e -> Mono.empty());
     }
 
     public Mono<UserDTO> createUser(UserDTO userDTO) {
-        return webClientBuilder.build()
-                .post()
-                .uri("http://MS-CLIENT/api/v1/users")
+        return webClient.post()
+                .uri("/api/v1/users")
+                .httpRequest(responseTimeout(writeTimeout))
                 .bodyValue(userDTO)
                 .retrieve()
                 .bodyToMono(UserDTO.class);
     }
-}
 
+    /**
+     * Sends the raw password, with the hash it was just verified against, to Client-MS, which rehashes it
+     * with the current algorithm and cost unless that hash has changed in the meantime.
+     * Never fails: the outdated hash still verifies, the next login tries again.
+     */
+    public Mono<Void> rehashPassword(Long id, String rawPassword, String verifiedHash) {
+        return webClient.put()
+                .uri("/api/v1/users/{id}/password", id)
+                .httpRequest(responseTimeout(writeTimeout))
+                .bodyValue(Map.of("password", rawPassword, "expectedHash", verifiedHash))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .doOnError(e -> log.warn("Password rehash failed for user {}: {}", id, e.getMessage()))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    // Applied on the reactor-netty request, so a slow MS-CLIENT frees the pooled connection on time
+    private static Consumer<ClientHttpRequest> responseTimeout(Duration timeout) {
+        return request -> {
+            HttpClientRequest nativeRequest = request.getNativeRequest();
+            nativeRequest.responseTimeout(timeout);
+        };
+    }
+}
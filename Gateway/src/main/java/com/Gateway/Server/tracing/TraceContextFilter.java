@@ -0,0 +1,76 @@
+package com.Gateway.Server.tracing;
+
+import com.Gateway.Server.filters.UpstreamTimingFilter;
+import com.Shared.tracing.SpanRecorder;
+import com.Shared.tracing.TraceContext;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Continues the client's traceparent (or starts a trace) for every routed request. The gateway records a SERVER
+ * span for the whole exchange and a CLIENT span for the upstream call, and forwards the CLIENT span as the
+ * traceparent, so the downstream service's spans hang under it.
+ */
+@Component
+public class TraceContextFilter implements GlobalFilter, Ordered {
+
+    public static final String TRACE_CONTEXT_ATTRIBUTE = "gateway.traceContext";
+
+    private final SpanRecorder spanRecorder;
+
+    public TraceContextFilter(SpanRecorder spanRecorder) {
+        this.spanRecorder = spanRecorder;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        TraceContext incoming = TraceContext.parse(exchange.getRequest().getHeaders().getFirst(TraceContext.HEADER));
+        TraceContext server = incoming != null ? incoming.child() : TraceContext.newRoot(spanRecorder.sampleNewTrace());
+        TraceContext upstream = server.child();
+
+        ServerWebExchange traced = exchange.mutate()
+                .request(request -> request.header(TraceContext.HEADER, upstream.header()))
+                .build();
+        traced.getAttributes().put(TRACE_CONTEXT_ATTRIBUTE, server);
+
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        return chain.filter(traced).doFinally(signal -> {
+            long end = System.nanoTime();
+            Route route = traced.getAttribute(GATEWAY_ROUTE_ATTR);
+            String name = route != null ? route.getId() : traced.getRequest().getPath().value();
+            HttpStatusCode status = traced.getResponse().getStatusCode();
+            String outcome = signal == SignalType.ON_ERROR ? "ERROR"
+                    : signal == SignalType.CANCEL ? "CANCELLED"
+                    : status != null ? String.valueOf(status.value()) : "-";
+
+            spanRecorder.record(server, incoming != null ? incoming.spanId() : null, "SERVER", name,
+                    startMillis, end - start, outcome);
+
+            Long upstreamStart = traced.getAttribute(UpstreamTimingFilter.UPSTREAM_START_ATTRIBUTE);
+            Long upstreamEnd = traced.getAttribute(UpstreamTimingFilter.UPSTREAM_END_ATTRIBUTE);
+            if (upstreamStart != null && upstreamEnd != null) {
+                spanRecorder.record(upstream, server.spanId(), "CLIENT", name,
+                        startMillis + TimeUnit.NANOSECONDS.toMillis(upstreamStart - start),
+                        upstreamEnd - upstreamStart, outcome);
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // Outside RouteMetricsFilter (-3), the span covers all gateway work
+        return -4;
+    }
+}
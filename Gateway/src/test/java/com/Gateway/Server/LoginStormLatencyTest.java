@@ -0,0 +1,140 @@
+package com.Gateway.Server;
+
+import com.Gateway.Server.dto.LoginRequest;
+import com.Gateway.Server.dto.UserDTO;
+import com.Gateway.Server.service.UserServiceClientReactive;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Product GETs proxied by the gateway keep their latency while a login storm saturates password hashing.
+ * Each password check holds a hashing thread for 200 ms: had it run on the event loop, the GETs sharing
+ * that loop would wait behind it for seconds. MS-CLIENT is mocked and product-service is a local stub.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.cloud.config.enabled=false",
+		"eureka.client.enabled=false",
+		"gateway.rate-limit.enabled=false",
+		"gateway.response-cache.enabled=false",
+		"gateway.coalescing.enabled=false",
+		"gateway.access-log.enabled=false",
+		"gateway.password-hashing.threads=2",
+		"gateway.password-hashing.queue-capacity=4"
+})
+class LoginStormLatencyTest {
+
+	private static final Duration HASHING_TIME = Duration.ofMillis(200);
+	private static final Duration MAX_GET_LATENCY = Duration.ofMillis(500);
+
+	private static final DisposableServer PRODUCT_SERVICE = HttpServer.create()
+			.port(0)
+			.route(routes -> routes.get("/products",
+					(request, response) -> response.header("Content-Type", "application/json").sendString(Mono.just("[]"))))
+			.bindNow();
+
+	@DynamicPropertySource
+	static void productService(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.product-service[0].uri",
+				() -> "http://localhost:" + PRODUCT_SERVICE.port());
+	}
+
+	@AfterAll
+	static void stopProductService() {
+		PRODUCT_SERVICE.disposeNow();
+	}
+
+	@MockBean
+	private PasswordEncoder passwordEncoder;
+
+	@MockBean
+	private UserServiceClientReactive userServiceClient;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void productGetsStayFastWhileLoginsSaturateHashing() throws InterruptedException {
+		when(passwordEncoder.matches(any(), anyString())).thenAnswer(invocation -> {
+			Thread.sleep(HASHING_TIME.toMillis());
+			return true;
+		});
+		when(userServiceClient.getUserByEmail(anyString()))
+				.thenReturn(Mono.just(new UserDTO(42L, null, null, "storm@example.com", "{bcrypt}hash", null, "CLIENT")));
+
+		// Warm up the route (load balancer, connection pool) before measuring
+		getProducts();
+
+		Map<Integer, AtomicInteger> loginStatuses = new ConcurrentHashMap<>();
+		WebClient client = WebClient.create("http://localhost:" + port);
+		Disposable storm = Flux.interval(Duration.ofMillis(2))
+				.flatMap(i -> client.post().uri("/auth/login")
+						.bodyValue(new LoginRequest("storm@example.com", "secret"))
+						.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+						.onErrorReturn(-1), 64)
+				.subscribe(status -> loginStatuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet());
+		List<Long> latencies = new ArrayList<>();
+		try {
+			awaitSaturatedHashing();
+			for (int i = 0; i < 20; i++) {
+				latencies.add(getProducts());
+			}
+		} finally {
+			storm.dispose();
+		}
+
+		// The storm was real: logins were both served and turned away with 503
+		assertThat(loginStatuses).containsKeys(200, 503);
+		assertThat(Collections.max(latencies)).isLessThan(MAX_GET_LATENCY.toNanos());
+	}
+
+	private long getProducts() {
+		long start = System.nanoTime();
+		webTestClient.get().uri("/product-service/products")
+				.exchange()
+				.expectStatus().isOk();
+		return System.nanoTime() - start;
+	}
+
+	private void awaitSaturatedHashing() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (meterRegistry.counter("auth.password.hashing.rejected").count() == 0) {
+			assertThat(System.nanoTime()).as("hashing queue saturated").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.Gateway.Server.service;
+
+import com.Gateway.Server.config.RateLimitProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one rate-limit decision, the work RateLimitFilter adds to every limited request.
+ * Limits are high enough that every request is admitted: the admit path is the one taken at high request rates.
+ * Not part of the test run; start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.Gateway.Server.service.RateLimiterBenchmark}
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+	private static final String ROUTE = "product-service-public-route";
+	private static final int CLIENTS = 10_000;
+
+	private RateLimiterService rateLimiter;
+	private RateLimiterService fullRateLimiter;
+	private String[] clientKeys;
+
+	@Setup
+	public void setUp() {
+		rateLimiter = new RateLimiterService(properties(100_000));
+		// Already at max-keys: every new client takes the shared overflow bucket
+		fullRateLimiter = new RateLimiterService(properties(CLIENTS));
+
+		clientKeys = new String[CLIENTS];
+		for (int i = 0; i < CLIENTS; i++) {
+			clientKeys[i] = "ip:10.0." + (i / 256) + '.' + (i % 256);
+			rateLimiter.tryAcquire(ROUTE, clientKeys[i]);
+			fullRateLimiter.tryAcquire(ROUTE, clientKeys[i]);
+		}
+	}
+
+	// One scraper on every thread: all CAS on the same bucket
+	@Benchmark
+	public long sameClient() {
+		return rateLimiter.tryAcquire(ROUTE, clientKeys[0]);
+	}
+
+	// Many known clients: map lookup plus an uncontended CAS
+	@Benchmark
+	public long manyClients(ClientCursor cursor) {
+		return rateLimiter.tryAcquire(ROUTE, clientKeys[cursor.next()]);
+	}
+
+	// New clients once max-keys is reached: no eviction on the request path, straight to the overflow bucket
+	@Benchmark
+	public long newClientAtMaxKeys(ClientCursor cursor) {
+		return fullRateLimiter.tryAcquire(ROUTE, "ip:new-" + cursor.next());
+	}
+
+	@State(Scope.Thread)
+	public static class ClientCursor {
+		private int next;
+
+		int next() {
+			next = next + 1 == CLIENTS ? 0 : next + 1;
+			return next;
+		}
+	}
+
+	private static RateLimitProperties properties(int maxKeys) {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setMaxKeys(maxKeys);
+		properties.setRoutes(Map.of(ROUTE, new RateLimitProperties.Limit(1_000_000_000, 1_000_000_000)));
+		return properties;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(RateLimiterBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
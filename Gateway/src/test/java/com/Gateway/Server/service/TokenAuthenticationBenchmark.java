@@ -0,0 +1,88 @@
+package com.Gateway.Server.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks of one protected request, before and after the parse-once change.
+ * Not part of the test run; start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.Gateway.Server.service.TokenAuthenticationBenchmark}
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TokenAuthenticationBenchmark {
+
+	private JwtTokenProvider tokenProvider;
+	private TokenService tokenService;
+	private JwtClaimsCache claimsCache;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		tokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(tokenProvider, "secretKey", "benchmark-secret-key-at-least-256-bits-long!!");
+		ReflectionTestUtils.setField(tokenProvider, "tokenTtlSeconds", 3600L);
+		ReflectionTestUtils.setField(tokenProvider, "issuer", "gateway-server");
+		tokenProvider.init();
+
+		claimsCache = new JwtClaimsCache(10_000);
+		tokenService = new TokenService(tokenProvider, claimsCache, new TokenRevocationStore(3600, 100_000));
+		token = tokenProvider.generateToken(42L, "user@example.com", "CLIENT");
+		tokenService.authenticate(token);
+	}
+
+	// Before: validateToken, then extractUserId, extractEmail and extractRole each verify the token again
+	@Benchmark
+	public void verifyFourTimes(Blackhole blackhole) {
+		blackhole.consume(tokenProvider.validateToken(token));
+		blackhole.consume(tokenProvider.extractUserId(token));
+		blackhole.consume(tokenProvider.extractEmail(token));
+		blackhole.consume(tokenProvider.extractRole(token));
+	}
+
+	// After, first sight of a token: one verification
+	@Benchmark
+	public Object verifyOnce() {
+		return tokenProvider.validateToken(token);
+	}
+
+	// After, token seen before: claims cache hit plus the revocation check
+	@Benchmark
+	public Object authenticateCached() {
+		return tokenService.authenticate(token);
+	}
+
+	// Cache lookup alone: digest and map access, the part contended across event-loop threads
+	@Benchmark
+	public Object claimsCacheHit() {
+		return claimsCache.get(token);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(TokenAuthenticationBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
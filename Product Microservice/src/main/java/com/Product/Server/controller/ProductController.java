@@ -1,14 +1,20 @@
 package com.Product.Server.controller;
 
+import com.Product.Server.dto.ProductBatchResponseDTO;
+import com.Product.Server.dto.ProductFilterDTO;
+import com.Product.Server.dto.ProductPageDTO;
 import com.Product.Server.dto.ProductRequestDTO;
 import com.Product.Server.dto.ProductResponseDTO;
 import com.Product.Server.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -18,6 +24,14 @@ public class ProductController {
 
     private final ProductService productService;
 
+    // Stock changes made by order-service never go through the gateway, so its response cache cannot be
+    // purged on them: product reads tell it to keep them only briefly instead
+    @Value("${product.http.stock-max-age-seconds:5}")
+    private long stockMaxAgeSeconds;
+
+    @Value("${product.http.stock-stale-seconds:5}")
+    private long stockStaleSeconds;
+
     @GetMapping("/status")
     public String getStatus() {
         return "Product Service is UP and running on port 8081!";
@@ -29,16 +43,34 @@ public class ProductController {
         return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
     }
 
+    // Default listing: keyset-paginated, e.g. GET /products?sort=price&direction=desc&size=50&cursor=...
     @GetMapping
+    public ResponseEntity<ProductPageDTO> getProductsPage(ProductFilterDTO filter) {
+        return withStockCacheControl(productService.getProductsPage(filter));
+    }
+
+    // Full unpaginated catalog, explicit opt-in only: GET /products?all=true
+    @GetMapping(params = "all=true")
+    public ResponseEntity<List<ProductResponseDTO>> getAllProducts() {
+        return withStockCacheControl(productService.getAllProducts());
+    }
+
+    // Batch lookup for inter-service callers: GET /products/batch?ids=1,2,3
+    @GetMapping("/batch")
+    public ResponseEntity<ProductBatchResponseDTO> getProductsByIds(@RequestParam List<Long> ids) {
+        return withStockCacheControl(productService.getProductsByIds(ids));
+    }
+
+    // Same lookup with the ids in the body, for lists too long for a query string
+    @PostMapping("/batch")
     @ResponseStatus(HttpStatus.OK)
-    public List<ProductResponseDTO> getAllProducts() {
-        return productService.getAllProducts();
+    public ProductBatchResponseDTO getProductsByIdsPost(@RequestBody List<Long> ids) {
+        return productService.getProductsByIds(ids);
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public ProductResponseDTO getProductById(@PathVariable Long id) {
-        return productService.getProductById(id);
+    public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id) {
+        return withStockCacheControl(productService.getProductById(id));
     }
 
     @PutMapping("/{id}")
@@ -52,4 +84,12 @@ public class ProductController {
     public void deleteProduct(@PathVariable Long id) {
         productService.deleteProduct(id);
     }
+
+    // Every product read carries stockQuantity
+    private <T> ResponseEntity<T> withStockCacheControl(T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(stockMaxAgeSeconds))
+                        .staleWhileRevalidate(Duration.ofSeconds(stockStaleSeconds)))
+                .body(body);
+    }
 }
@@ -0,0 +1,36 @@
+package com.Product.Server.controller;
+
+import com.Product.Server.dto.StockReservationRequestDTO;
+import com.Product.Server.dto.StockReservationResponseDTO;
+import com.Product.Server.service.StockReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/products/stock/reservations")
+@RequiredArgsConstructor
+public class StockReservationController {
+
+    private final StockReservationService stockReservationService;
+
+    // All-or-nothing: 201 with the reservation, or 409 if any product lacks stock (nothing is reserved then)
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public StockReservationResponseDTO reserve(@RequestBody @Valid StockReservationRequestDTO request) {
+        return stockReservationService.reserve(request);
+    }
+
+    @PostMapping("/{id}/commit")
+    @ResponseStatus(HttpStatus.OK)
+    public StockReservationResponseDTO commit(@PathVariable String id) {
+        return stockReservationService.commit(id);
+    }
+
+    @PostMapping("/{id}/release")
+    @ResponseStatus(HttpStatus.OK)
+    public StockReservationResponseDTO release(@PathVariable String id) {
+        return stockReservationService.release(id);
+    }
+}
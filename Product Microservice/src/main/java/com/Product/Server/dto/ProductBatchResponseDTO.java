@@ -0,0 +1,16 @@
+package com.Product.Server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponseDTO {
+    private List<ProductResponseDTO> products;
+    // Requested ids with no matching product (deleted or never existed)
+    private List<Long> missingIds;
+}
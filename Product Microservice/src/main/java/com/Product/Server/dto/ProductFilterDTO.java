@@ -0,0 +1,21 @@
+package com.Product.Server.dto;
+
+import lombok.Data;
+
+/**
+ * Query parameters accepted by the paginated product listing (GET /products).
+ */
+@Data
+public class ProductFilterDTO {
+    private String cursor;
+    private Integer size;
+
+    // One of: id, price, name, createdAt, updatedAt
+    private String sort = "createdAt";
+    private String direction = "asc";
+
+    private Long categoryId;
+    private Double minPrice;
+    private Double maxPrice;
+    private String q;
+}
@@ -1,10 +1,12 @@
 package com.Product.Server.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
 @Data
+@NoArgsConstructor
 public class ProductResponseDTO {
     private Long id;
     private String name;
@@ -15,4 +17,19 @@ public class ProductResponseDTO {
     private Instant createdAt;
     private Instant updatedAt;
     private CategoryDTO productCategory;
+
+    // Constructor expression target for the read-only projections in ProductRepository
+    public ProductResponseDTO(Long id, String name, double price, int stockQuantity, String imageUrl,
+                              String manufacturer, Instant createdAt, Instant updatedAt,
+                              Long categoryId, String categoryName) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.imageUrl = imageUrl;
+        this.manufacturer = manufacturer;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.productCategory = new CategoryDTO(categoryId, categoryName);
+    }
 }
@@ -0,0 +1,13 @@
+package com.Product.Server.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class StockReservationRequestDTO {
+    @NotEmpty(message = "Reservation must contain at least one item")
+    private List<@Valid StockReservationItemDTO> items;
+}
@@ -0,0 +1,19 @@
+package com.Product.Server.dto;
+
+import com.Product.Server.model.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponseDTO {
+    private String reservationId;
+    private ReservationStatus status;
+    private Instant expiresAt;
+    private List<StockReservationItemDTO> items;
+}
@@ -9,6 +9,14 @@ import java.time.Instant;
 
 @Entity
 @Data
+@Table(indexes = {
+        // Composite keys backing the keyset-paginated listing: ORDER BY <field>, id
+        @Index(name = "idx_product_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_product_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_product_price_id", columnList = "price, id"),
+        @Index(name = "idx_product_name_id", columnList = "name, id"),
+        @Index(name = "idx_product_category_id", columnList = "category_id")
+})
 public class Product {
 
     @Id
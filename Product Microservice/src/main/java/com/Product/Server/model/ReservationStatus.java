@@ -0,0 +1,7 @@
+package com.Product.Server.model;
+
+public enum ReservationStatus {
+    RESERVED,
+    COMMITTED,
+    RELEASED
+}
@@ -0,0 +1,33 @@
+package com.Product.Server.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_stock_reservation_status_expires", columnList = "status, expires_at"))
+public class StockReservation {
+
+    @Id
+    private String id; // UUID handed back to the caller
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "stock_reservation_line", joinColumns = @JoinColumn(name = "reservation_id"))
+    private List<StockReservationLine> lines = new ArrayList<>();
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    // RESERVED holds past this instant are released by StockReservationSweeper
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -1,12 +1,42 @@
 package com.Product.Server.repository;
 
+import com.Product.Server.dto.ProductResponseDTO;
 import com.Product.Server.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
     List<Product> findByCategoryId(Long categoryId);
+
+    // Read-only projections: category joined in the same SELECT, description column skipped
+    @Query("SELECT new com.Product.Server.dto.ProductResponseDTO(p.id, p.name, p.price, p.stockQuantity, p.imageUrl, " +
+            "p.manufacturer, p.createdAt, p.updatedAt, c.id, c.name) FROM Product p JOIN p.category c ORDER BY p.id")
+    List<ProductResponseDTO> findAllResponses();
+
+    @Query("SELECT new com.Product.Server.dto.ProductResponseDTO(p.id, p.name, p.price, p.stockQuantity, p.imageUrl, " +
+            "p.manufacturer, p.createdAt, p.updatedAt, c.id, c.name) FROM Product p JOIN p.category c WHERE p.id = :id")
+    Optional<ProductResponseDTO> findResponseById(Long id);
+
+    @Query("SELECT new com.Product.Server.dto.ProductResponseDTO(p.id, p.name, p.price, p.stockQuantity, p.imageUrl, " +
+            "p.manufacturer, p.createdAt, p.updatedAt, c.id, c.name) FROM Product p JOIN p.category c WHERE p.id IN :ids")
+    List<ProductResponseDTO> findResponsesByIdIn(Collection<Long> ids);
+
+    // Conditional decrement: touches the row only if enough stock is left, returns 0 otherwise
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.stockQuantity >= :quantity")
+    int decrementStock(Long id, int quantity, Instant now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity, p.updatedAt = :now WHERE p.id = :id")
+    int incrementStock(Long id, int quantity, Instant now);
 }
@@ -0,0 +1,17 @@
+package com.Product.Server.repository;
+
+import com.Product.Server.dto.ProductResponseDTO;
+import com.Product.Server.model.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Runs a product specification straight into {@link ProductResponseDTO} rows with the category joined,
+     * so a listing is a single SELECT regardless of how many categories it spans.
+     */
+    List<ProductResponseDTO> findResponses(Specification<Product> spec, Sort sort, int limit);
+}
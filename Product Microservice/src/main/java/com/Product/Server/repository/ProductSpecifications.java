@@ -0,0 +1,62 @@
+package com.Product.Server.repository;
+
+import com.Product.Server.model.Product;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable query fragments for the product listing.
+ * A fragment returning a null predicate is ignored by Spring Data, so unset filters simply drop out.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> inCategory(Long categoryId) {
+        return (root, query, cb) -> categoryId == null
+                ? null
+                : cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Product> priceBetween(Double minPrice, Double maxPrice) {
+        return (root, query, cb) -> {
+            if (minPrice != null && maxPrice != null) {
+                return cb.between(root.get("price"), minPrice, maxPrice);
+            }
+            if (minPrice != null) {
+                return cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+            }
+            if (maxPrice != null) {
+                return cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Product> nameContains(String text) {
+        return (root, query, cb) -> text == null || text.isBlank()
+                ? null
+                : cb.like(cb.lower(root.get("name")), "%" + text.trim().toLowerCase() + "%");
+    }
+
+    /**
+     * Keyset predicate: rows strictly after (value, id) for a listing ordered by (field, id).
+     * Matches the composite indexes declared on {@link Product}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Product> after(String field, Comparable value, Long id, boolean descending) {
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            Predicate idAfter = descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            if ("id".equals(field)) {
+                return idAfter;
+            }
+
+            Path<Comparable> path = root.get(field);
+            Predicate valueAfter = descending ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+            return cb.or(valueAfter, cb.and(cb.equal(path, value), idAfter));
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.Product.Server.repository;
+
+import com.Product.Server.model.ReservationStatus;
+import com.Product.Server.model.StockReservation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    // Compare-and-set on the status: exactly one concurrent commit/release wins
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(String id, ReservationStatus from, ReservationStatus to);
+
+    @Query("SELECT r.id FROM StockReservation r WHERE r.status = :status AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<String> findExpiredIds(ReservationStatus status, Instant now, Limit limit);
+}
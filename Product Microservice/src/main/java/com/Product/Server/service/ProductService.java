@@ -1,19 +1,32 @@
 package com.Product.Server.service;
 
 import com.Product.Server.dto.CategoryDTO;
+import com.Product.Server.dto.ProductBatchResponseDTO;
+import com.Product.Server.dto.ProductFilterDTO;
+import com.Product.Server.dto.ProductPageDTO;
 import com.Product.Server.dto.ProductRequestDTO;
 import com.Product.Server.dto.ProductResponseDTO;
 import com.Product.Server.model.Category;
 import com.Product.Server.model.Product;
 import com.Product.Server.repository.CategoryRepository;
 import com.Product.Server.repository.ProductRepository;
+import com.Product.Server.repository.ProductSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +34,12 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProductService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "price", "name", "createdAt", "updatedAt");
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
 
@@ -41,10 +60,63 @@ public class ProductService {
         return toProductResponseDTO(savedProduct);
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::toProductResponseDTO)
-                .collect(Collectors.toList());
+        return productRepository.findAllResponses();
+    }
+
+    /**
+     * Keyset-paginated listing: ORDER BY (sort field, id) and resume strictly after the cursor row,
+     * so each page is a bounded index range scan instead of a full table load or an OFFSET skip.
+     */
+    @Transactional(readOnly = true)
+    public ProductPageDTO getProductsPage(ProductFilterDTO filter) {
+        String field = filter.getSort() == null ? "createdAt" : filter.getSort();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort field " + field);
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(filter.getDirection()).orElse(Sort.Direction.ASC);
+        int size = filter.getSize() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(filter.getSize(), MAX_PAGE_SIZE));
+
+        Specification<Product> spec = ProductSpecifications.inCategory(filter.getCategoryId())
+                .and(ProductSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice()))
+                .and(ProductSpecifications.nameContains(filter.getQ()));
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            spec = spec.and(decodeCursor(filter.getCursor(), field, direction.isDescending()));
+        }
+
+        Sort sort = "id".equals(field)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, field).and(Sort.by(direction, "id"));
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<ProductResponseDTO> rows = productRepository.findResponses(spec, sort, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<ProductResponseDTO> items = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasMore ? encodeCursor(field, items.get(items.size() - 1)) : null;
+        return new ProductPageDTO(items, items.size(), hasMore, nextCursor);
+    }
+
+    /**
+     * Resolves many products with a single IN query; ids that match nothing are reported back instead of failing.
+     */
+    @Transactional(readOnly = true)
+    public ProductBatchResponseDTO getProductsByIds(Collection<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(requested::add);
+        }
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_SIZE + " ids per batch");
+        }
+        if (requested.isEmpty()) {
+            return new ProductBatchResponseDTO(List.of(), List.of());
+        }
+
+        List<ProductResponseDTO> products = productRepository.findResponsesByIdIn(requested);
+        products.forEach(product -> requested.remove(product.getId()));
+        return new ProductBatchResponseDTO(products, List.copyOf(requested));
     }
 
     public List<CategoryDTO> getAllCategories() {
@@ -58,10 +130,10 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ProductResponseDTO getProductById(Long id) {
-        Product product = productRepository.findById(id)
+        return productRepository.findResponseById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found with id " + id));
-        return toProductResponseDTO(product);
     }
 
     public ProductResponseDTO updateProduct(Long id, ProductRequestDTO dto) {
@@ -87,6 +159,38 @@ public class ProductService {
         productRepository.deleteById(id);
     }
 
+    // Cursor = base64url("field|id|value"); the field is embedded so a cursor cannot be replayed against another sort
+    private String encodeCursor(String field, ProductResponseDTO last) {
+        Object value = switch (field) {
+            case "price" -> last.getPrice();
+            case "name" -> last.getName();
+            case "createdAt" -> last.getCreatedAt();
+            case "updatedAt" -> last.getUpdatedAt();
+            default -> last.getId();
+        };
+        String raw = field + "|" + last.getId() + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Product> decodeCursor(String cursor, String field, boolean descending) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(field)) {
+                throw new IllegalArgumentException("Cursor does not match sort field " + field);
+            }
+            Long id = Long.valueOf(parts[1]);
+            Comparable<?> value = switch (field) {
+                case "price" -> Double.valueOf(parts[2]);
+                case "name" -> parts[2];
+                case "createdAt", "updatedAt" -> Instant.parse(parts[2]);
+                default -> id;
+            };
+            return ProductSpecifications.after(field, value, id, descending);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
     private ProductResponseDTO toProductResponseDTO(Product product) {
         ProductResponseDTO dto = new ProductResponseDTO();
         dto.setId(product.getId());
@@ -0,0 +1,102 @@
+package com.Product.Server.service;
+
+import com.Product.Server.dto.StockReservationItemDTO;
+import com.Product.Server.dto.StockReservationRequestDTO;
+import com.Product.Server.dto.StockReservationResponseDTO;
+import com.Product.Server.model.ReservationStatus;
+import com.Product.Server.model.StockReservation;
+import com.Product.Server.model.StockReservationLine;
+import com.Product.Server.repository.ProductRepository;
+import com.Product.Server.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Stock reservations: RESERVED -> COMMITTED (sale confirmed) or RESERVED -> RELEASED (stock given back).
+ * Stock is taken with conditional UPDATEs (stock >= qty) instead of read-then-check, so concurrent
+ * checkouts can never oversell and only the touched product rows are locked, for the length of one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+
+    @Value("${product.stock.reservation-ttl-seconds:900}")
+    private long reservationTtlSeconds;
+
+    public StockReservationResponseDTO reserve(StockReservationRequestDTO request) {
+        // Merge duplicate lines and apply them in ascending product id order, so two reservations
+        // sharing products always lock rows in the same order and cannot deadlock
+        Map<Long, Integer> quantities = new TreeMap<>();
+        request.getItems().forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+
+        Instant now = Instant.now();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (productRepository.decrementStock(entry.getKey(), entry.getValue(), now) == 0) {
+                // Throwing rolls back the decrements already applied: all-or-nothing
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Product not found or insufficient stock for product " + entry.getKey());
+            }
+        }
+
+        StockReservation reservation = new StockReservation();
+        reservation.setId(UUID.randomUUID().toString());
+        reservation.setStatus(ReservationStatus.RESERVED);
+        reservation.setExpiresAt(now.plusSeconds(reservationTtlSeconds));
+        quantities.forEach((productId, quantity) ->
+                reservation.getLines().add(new StockReservationLine(productId, quantity)));
+
+        return toResponseDTO(reservationRepository.save(reservation));
+    }
+
+    public StockReservationResponseDTO commit(String id) {
+        boolean transitioned = reservationRepository.transition(id, ReservationStatus.RESERVED, ReservationStatus.COMMITTED) == 1;
+        StockReservation reservation = findReservation(id);
+        if (!transitioned && reservation.getStatus() != ReservationStatus.COMMITTED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation " + id + " is already " + reservation.getStatus());
+        }
+        return toResponseDTO(reservation);
+    }
+
+    public StockReservationResponseDTO release(String id) {
+        boolean transitioned = reservationRepository.transition(id, ReservationStatus.RESERVED, ReservationStatus.RELEASED) == 1;
+        StockReservation reservation = findReservation(id);
+        if (transitioned) {
+            // Only the caller that won the transition gives the stock back
+            Instant now = Instant.now();
+            reservation.getLines().forEach(line ->
+                    productRepository.incrementStock(line.getProductId(), line.getQuantity(), now));
+        } else if (reservation.getStatus() != ReservationStatus.RELEASED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation " + id + " is already " + reservation.getStatus());
+        }
+        return toResponseDTO(reservation);
+    }
+
+    private StockReservation findReservation(String id) {
+        return reservationRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found with id " + id));
+    }
+
+    private StockReservationResponseDTO toResponseDTO(StockReservation reservation) {
+        return new StockReservationResponseDTO(
+                reservation.getId(),
+                reservation.getStatus(),
+                reservation.getExpiresAt(),
+                reservation.getLines().stream()
+                        .map(line -> new StockReservationItemDTO(line.getProductId(), line.getQuantity()))
+                        .collect(Collectors.toList()));
+    }
+}
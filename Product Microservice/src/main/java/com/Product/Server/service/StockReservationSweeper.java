@@ -0,0 +1,36 @@
+package com.Product.Server.service;
+
+import com.Product.Server.model.ReservationStatus;
+import com.Product.Server.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+/**
+ * Gives back stock held by reservations that were neither committed nor released before expiring
+ * (e.g. the order service crashed mid-checkout).
+ */
+@Component
+@RequiredArgsConstructor
+public class StockReservationSweeper {
+
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final StockReservationRepository reservationRepository;
+    private final StockReservationService reservationService;
+
+    @Scheduled(fixedDelayString = "${product.stock.reservation-sweep-ms:60000}")
+    public void releaseExpiredReservations() {
+        for (String id : reservationRepository.findExpiredIds(ReservationStatus.RESERVED, Instant.now(), Limit.of(SWEEP_BATCH_SIZE))) {
+            try {
+                reservationService.release(id);
+            } catch (ResponseStatusException e) {
+                // Committed concurrently by its owner: nothing to give back
+            }
+        }
+    }
+}
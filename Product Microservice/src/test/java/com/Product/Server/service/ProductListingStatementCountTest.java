@@ -0,0 +1,119 @@
+package com.Product.Server.service;
+
+import com.Product.Server.dto.ProductFilterDTO;
+import com.Product.Server.dto.ProductPageDTO;
+import com.Product.Server.model.Category;
+import com.Product.Server.model.Product;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The product reads must stay a fixed number of SQL statements however many products and categories they
+ * return: a lazy category touched per row would show up here as N + 1 statements.
+ * Every product gets its own category, so each row would need its own category load.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.cloud.config.enabled=false"
+})
+@Import(ProductService.class)
+class ProductListingStatementCountTest {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ProductService productService;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void listingPageIsOneStatementWhateverItsSize() {
+		ProductFilterDTO filter = new ProductFilterDTO();
+		filter.setSize(ProductService.MAX_PAGE_SIZE);
+
+		seed(10);
+		long small = statementsFor(() -> assertThat(productService.getProductsPage(filter).getSize()).isEqualTo(10));
+		seed(50);
+		long large = statementsFor(() -> assertThat(productService.getProductsPage(filter).getSize()).isEqualTo(60));
+
+		assertThat(large).isEqualTo(small).isEqualTo(1);
+	}
+
+	@Test
+	void nextPageIsOneStatementToo() {
+		seed(30);
+		ProductFilterDTO filter = new ProductFilterDTO();
+		filter.setSize(10);
+		filter.setSort("price");
+		ProductPageDTO firstPage = productService.getProductsPage(filter);
+		filter.setCursor(firstPage.getNextCursor());
+
+		long statements = statementsFor(() -> assertThat(productService.getProductsPage(filter).getSize()).isEqualTo(10));
+
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	void allProductsIsOneStatementWhateverItsSize() {
+		seed(10);
+		long small = statementsFor(() -> assertThat(productService.getAllProducts()).hasSize(10));
+		seed(50);
+		long large = statementsFor(() -> assertThat(productService.getAllProducts()).hasSize(60));
+
+		assertThat(large).isEqualTo(small).isEqualTo(1);
+	}
+
+	@Test
+	void batchLookupIsOneStatementWhateverItsSize() {
+		List<Long> few = seed(10);
+		long small = statementsFor(() -> assertThat(productService.getProductsByIds(few).getProducts()).hasSize(10));
+		List<Long> many = seed(200);
+		long large = statementsFor(() -> assertThat(productService.getProductsByIds(many).getProducts()).hasSize(200));
+
+		assertThat(large).isEqualTo(small).isEqualTo(1);
+	}
+
+	private List<Long> seed(int count) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Category category = new Category();
+			category.setName("category-" + System.nanoTime() + "-" + i);
+			entityManager.persist(category);
+
+			Product product = new Product();
+			product.setName("product-" + i);
+			product.setPrice(10 + i);
+			product.setStockQuantity(5);
+			product.setCategory(category);
+			ids.add(entityManager.persist(product).getId());
+		}
+		return ids;
+	}
+
+	// Flushes the seeding and empties the persistence context, so only the read itself is counted
+	private long statementsFor(Runnable read) {
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+		read.run();
+		return statistics.getPrepareStatementCount();
+	}
+}
@@ -4,6 +4,7 @@ import com.Client.dto.UserCreateDTO;
 import com.Client.dto.UserResponseDTO;
 import com.Client.dto.UserUpdateDTO;
 import com.Client.model.User;
+import com.Client.repository.UserAuthView;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,8 +14,10 @@ public interface UserService {
     List<UserResponseDTO> getAllUsers();
     UserResponseDTO getUserById(Long id);
     Optional<User> getUserByEmail(String email);
+    Optional<UserAuthView> getAuthByEmail(String email);
     UserResponseDTO updateUser(Long id, UserUpdateDTO updateDTO);
     UserResponseDTO updateUserRole(Long id, com.Client.model.Role role);
+    boolean rehashPassword(Long id, String rawPassword, String expectedHash);
     UserResponseDTO updateUserByEmail(String email, UserUpdateDTO updateDTO);
     void deleteUser(Long id);
     void deleteUserByEmail(String email);
@@ -7,6 +7,7 @@ import com.Client.exception.EmailAlreadyExistsException;
 import com.Client.exception.UserNotFoundException;
 import com.Client.model.Role;
 import com.Client.model.User;
+import com.Client.repository.UserAuthView;
 import com.Client.repository.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -64,6 +65,11 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmail(email);
     }
 
+    @Override
+    public Optional<UserAuthView> getAuthByEmail(String email) {
+        return userRepository.findAuthByEmail(email).stream().findFirst();
+    }
+
     @Override
     public UserResponseDTO updateUser(Long id, UserUpdateDTO updateDTO) {
         User user = userRepository.findById(id)
@@ -88,6 +94,15 @@ public class UserServiceImpl implements UserService {
         return convertToResponseDTO(updatedUser);
     }
 
+    @Override
+    public boolean rehashPassword(Long id, String rawPassword, String expectedHash) {
+        // Same password, new hash: whoever asks must know both the password and the hash it matches
+        if (!passwordEncoder.matches(rawPassword, expectedHash)) {
+            return false;
+        }
+        return userRepository.replacePasswordHash(id, expectedHash, passwordEncoder.encode(rawPassword)) == 1;
+    }
+
     @Override
     public UserResponseDTO updateUserByEmail(String email, UserUpdateDTO updateDTO) {
         User user = userRepository.findByEmail(email)
@@ -2,6 +2,7 @@ package com.Client.controller;
 
 import com.Client.dto.*;
 import com.Client.model.User;
+import com.Client.repository.UserAuthView;
 import com.Client.Service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -47,6 +48,14 @@ public class UserController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // Credentials only (id, email, role, password hash), case-insensitive: the Gateway login lookup
+    @GetMapping("/auth/{email}")
+    public ResponseEntity<UserAuthView> getUserAuthByEmail(@PathVariable String email) {
+        return userService.getAuthByEmail(email)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // Update user
     @PutMapping("/{id}")
     public ResponseEntity<UserResponseDTO> updateUser(@PathVariable Long id, @RequestBody UserUpdateDTO updateDTO) {
@@ -61,6 +70,16 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    // Rehash with the current algorithm and cost, for the Gateway after a login it verified; not a password change.
+    // 409 unless the password matches the expected hash and that hash is still the stored one.
+    // Blocked at the Gateway, never reachable by clients.
+    @PutMapping("/{id}/password")
+    public ResponseEntity<Void> rehashPassword(@PathVariable Long id, @Valid @RequestBody PasswordRehashDTO rehashDTO) {
+        return userService.rehashPassword(id, rehashDTO.getPassword(), rehashDTO.getExpectedHash())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
     // Delete user
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
@@ -0,0 +1,18 @@
+package com.Client.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordRehashDTO {
+    @NotBlank(message = "Password is required")
+    private String password;
+
+    // The stored hash the Gateway just verified the password against
+    @NotBlank(message = "Expected hash is required")
+    private String expectedHash;
+}
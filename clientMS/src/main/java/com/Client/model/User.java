@@ -1,5 +1,6 @@
 package com.Client.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.Instant;
 
@@ -18,6 +19,8 @@ public class User {
     @Column(unique = true, nullable = false)
     private String email;
 
+    // Never serialized: /email/{email} and /auth/login return the entity as is
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
 
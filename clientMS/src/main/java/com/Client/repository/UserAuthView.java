@@ -0,0 +1,13 @@
+package com.Client.repository;
+
+import com.Client.model.Role;
+
+/**
+ * Closed projection with only what the Gateway needs to authenticate a user.
+ */
+public interface UserAuthView {
+    Long getId();
+    String getEmail();
+    Role getRole();
+    String getPassword();
+}
@@ -2,8 +2,23 @@ package com.Client.repository;
 
 import com.Client.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Served by the idx_users_email_lower functional index (schema.sql); ordered so duplicates differing only in case resolve the same way
+    @Query("SELECT u.id AS id, u.email AS email, u.role AS role, u.password AS password FROM User u " +
+           "WHERE lower(u.email) = lower(:email) ORDER BY u.id")
+    List<UserAuthView> findAuthByEmail(String email);
+
+    // Conditional: a concurrent password change (or an earlier rehash) wins, this update then matches 0 rows
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :expectedHash")
+    int replacePasswordHash(Long id, String expectedHash, String newHash);
 }
@@ -0,0 +1,3 @@
+-- Runs after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization)
+-- Case-insensitive email lookup used by the login path (UserRepository.findAuthByEmail)
+CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email));
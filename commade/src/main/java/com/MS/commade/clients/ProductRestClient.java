@@ -1,10 +1,17 @@
 package com.MS.commade.clients;
 
+import com.MS.commade.dto.ProductBatchDto;
 import com.MS.commade.dto.ProductDto;
+import com.MS.commade.dto.StockReservationDto;
+import com.MS.commade.dto.StockReservationRequest;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
 
 @FeignClient(name = "product-service")
 public interface ProductRestClient {
@@ -13,9 +20,27 @@ public interface ProductRestClient {
     @CircuitBreaker(name = "productService", fallbackMethod = "fallbackGetProductById")
     ProductDto getProductById(@PathVariable("id") Long id);
 
+    // One round trip for a whole cart/order; ids go in the body so long lists are fine
+    @PostMapping("/products/batch")
+    @CircuitBreaker(name = "productService", fallbackMethod = "fallbackGetProductsByIds")
+    ProductBatchDto getProductsByIds(@RequestBody Collection<Long> ids);
+
+    // Stock reservations: no circuit breaker here, a 409 (insufficient stock) is a business answer, not an outage
+    @PostMapping("/products/stock/reservations")
+    StockReservationDto reserveStock(@RequestBody StockReservationRequest request);
+
+    @PostMapping("/products/stock/reservations/{id}/commit")
+    StockReservationDto commitReservation(@PathVariable("id") String reservationId);
+
+    @PostMapping("/products/stock/reservations/{id}/release")
+    StockReservationDto releaseReservation(@PathVariable("id") String reservationId);
+
     // Fallback method: Throw exception instead of returning free product
     default ProductDto fallbackGetProductById(@PathVariable("id") Long id, Exception e) {
         throw new RuntimeException("Product Service is unavailable. Cannot verify product " + id);
     }
-}
 
+    default ProductBatchDto fallbackGetProductsByIds(Collection<Long> ids, Exception e) {
+        throw new RuntimeException("Product Service is unavailable. Cannot verify products " + ids);
+    }
+}
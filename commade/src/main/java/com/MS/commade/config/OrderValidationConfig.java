@@ -0,0 +1,41 @@
+package com.MS.commade.config;
+
+import com.Shared.tracing.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class OrderValidationConfig {
+
+    /**
+     * Bounded pool for the remote calls made while validating an order (user + product lookups).
+     * A full queue rejects new work instead of piling up requests behind a slow dependency.
+     */
+    @Bean
+    public ExecutorService orderValidationExecutor(
+            @Value("${order.validation.threads:16}") int threads,
+            @Value("${order.validation.queue-capacity:256}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "order-validation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy()) {
+            @Override
+            public void execute(Runnable command) {
+                // Lookups stay in the checkout's trace
+                super.execute(TraceContext.wrap(command));
+            }
+        };
+    }
+}
@@ -1,17 +1,25 @@
 package com.MS.commade.controller;
 
+import com.MS.commade.dto.OrderPageResponse;
 import com.MS.commade.dto.OrderResponse;
 import com.MS.commade.dto.OrderRequest;
-import com.MS.commade.entities.Order;
+import com.MS.commade.exception.IdempotencyKeyMismatchException;
 import com.MS.commade.services.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
@@ -21,28 +29,45 @@ public class OrderController {
 
     /**
      * Creates a new order from a cart (list of items).
+     * Retries carrying the same Idempotency-Key get the original order back instead of a duplicate;
+     * reusing a key with different items is answered with 422 Unprocessable Entity.
+     * With {@code ?async=true} the order is only stored as PENDING and 202 Accepted is returned right away;
+     * its status can then be polled on GET /api/orders/{id} or streamed from GET /api/orders/{id}/events.
      *
      * @param orderRequest the order request containing a list of items (cart)
      */
     @PostMapping
     public ResponseEntity<OrderResponse> placeOrder(
             @RequestHeader(value = "X-User-Id", required = true) Long userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(value = "async", defaultValue = "false") boolean async,
             @RequestBody @Valid OrderRequest orderRequest) {
         try {
-            System.out.println("Received order request for user: " + userId);
+            log.debug("Received order request for user: {}", userId);
             // Set the userId from the trusted header
             orderRequest.setUserId(userId);
 
-            Order createdOrder = orderService.placeOrder(orderRequest);
-            // Convert Entity to DTO for response
-            OrderResponse response = orderService.getOrderById(createdOrder.getId());
+            if (async) {
+                OrderResponse accepted = orderService.placeOrderAsync(orderRequest, idempotencyKey);
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/orders/" + accepted.getId()))
+                        .body(accepted);
+            }
+
+            OrderResponse response = orderService.placeOrder(orderRequest, idempotencyKey);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RejectedExecutionException e) {
+            log.warn("Order intake saturated: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        } catch (IdempotencyKeyMismatchException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
         } catch (IllegalArgumentException e) {
-            System.err.println("Order validation failed: " + e.getMessage());
+            log.info("Order validation failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
-            System.err.println("Order creation failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Order creation failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -66,11 +91,53 @@ public class OrderController {
     }
 
     /**
-     * Retrieves all orders.
+     * Streams the status of an order as Server-Sent Events ("status" events carrying the OrderResponse).
+     * The stream closes once the order is no longer PENDING or PROCESSING.
      *
-     * @return list of all orders with 200 OK status
+     * @param id the order ID
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(orderService.subscribeToStatus(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    /**
+     * Paginated order history, newest first: admins see every order, other users only their own.
+     * Pass the returned nextCursor back as ?cursor= to get the following page.
+     *
+     * @return one page of orders with 200 OK status, or 400 for a malformed cursor
      */
     @GetMapping
+    public ResponseEntity<OrderPageResponse> getOrdersPage(
+            @RequestHeader(value = "X-User-Id", required = false) Long userId,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "desc") String direction) {
+        try {
+            if (!"ADMIN".equals(userRole) && userId == null) {
+                // Same fallback as the full listing when the gateway headers are missing
+                return ResponseEntity.ok(new OrderPageResponse(List.of(), 0, false, null));
+            }
+            Long owner = "ADMIN".equals(userRole) ? null : userId;
+            return ResponseEntity.ok(orderService.getOrdersPage(owner, cursor, size, direction));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Retrieves all orders, unpaginated; explicit opt-in only: GET /api/orders?all=true
+     *
+     * @return list of all orders with 200 OK status
+     */
+    @GetMapping(params = "all=true")
     public ResponseEntity<List<OrderResponse>> getAllOrders(
             @RequestHeader(value = "X-User-Id", required = false) Long userId,
             @RequestHeader(value = "X-User-Role", required = false) String userRole) {
@@ -0,0 +1,18 @@
+package com.MS.commade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponse {
+    private List<OrderResponse> items;
+    private int size;
+    private boolean hasMore;
+    // Opaque keyset cursor, pass it back as ?cursor= to fetch the next page (null on the last page)
+    private String nextCursor;
+}
@@ -3,6 +3,7 @@ package com.MS.commade.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
@@ -16,6 +17,6 @@ public class OrderRequest {
     private Long userId;
 
     @NotEmpty(message = "Order must contain at least one item")
-    private List<OrderLineItemsDto> orderLineItemsDtoList;
+    private List<@Valid OrderLineItemsDto> orderLineItemsDtoList;
 }
 
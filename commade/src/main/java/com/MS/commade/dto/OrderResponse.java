@@ -17,6 +17,7 @@ public class OrderResponse {
     private String orderNumber;
     private LocalDateTime orderDate;
     private String status;
+    private String statusReason;
     private Double totalPrice;
     private Long userId;
     private List<OrderLineItemsResponse> orderLineItems;
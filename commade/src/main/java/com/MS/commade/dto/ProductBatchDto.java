@@ -0,0 +1,15 @@
+package com.MS.commade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchDto {
+    private List<ProductDto> products;
+    private List<Long> missingIds; // Requested ids that Product MS does not know
+}
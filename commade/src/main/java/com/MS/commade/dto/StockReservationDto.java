@@ -0,0 +1,18 @@
+package com.MS.commade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDto {
+    private String reservationId;
+    private String status; // RESERVED, COMMITTED, RELEASED
+    private Instant expiresAt;
+    private List<OrderLineItemsDto> items;
+}
@@ -0,0 +1,14 @@
+package com.MS.commade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+    private List<OrderLineItemsDto> items; // productId + quantity, same shape Product MS expects
+}
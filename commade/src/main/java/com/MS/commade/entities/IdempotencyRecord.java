@@ -0,0 +1,42 @@
+package com.MS.commade.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "t_idempotency_keys", indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    private String idempotencyKey; // "<userId>:<Idempotency-Key header>"
+
+    @Column(nullable = false)
+    private Long orderId; // Order created by the first request carrying this key
+
+    @Column(nullable = false, length = 64)
+    private String requestHash; // SHA-256 of the first request's lines; a reuse with other lines is rejected
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    // Always INSERT: a second request with the same key must hit the primary key, never overwrite the first
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -5,12 +5,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "t_orders")
+@Table(name = "t_orders", indexes = {
+    // Keyset paging of the order history: (order_date, id), optionally per user
+    @Index(name = "idx_orders_date_id", columnList = "order_date, id"),
+    @Index(name = "idx_orders_user_date_id", columnList = "user_id, order_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,10 +39,22 @@ public class Order {
     private LocalDateTime orderDate;
 
     @Column(nullable = false)
-    private String status; // CREATED, CONFIRMED, CANCELED
+    private String status; // PENDING, PROCESSING, CREATED, CONFIRMED, CANCELED, REJECTED, FAILED
 
-    // One Order has Many OrderItems
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "order", fetch = FetchType.EAGER)
+    @Column(length = 500)
+    private String statusReason; // Why an async order was REJECTED or FAILED
+
+    @Column(length = 36)
+    private String claimedBy; // Token of the intake worker processing an async order
+
+    private LocalDateTime claimedAt; // When that worker claimed it; older claims can be taken over
+
+    @Column(length = 36)
+    private String stockReservationId; // Set until Product MS has confirmed the commit of the order's stock
+
+    // One Order has Many OrderItems, loaded on demand; a page of orders initializes them in batches
+    @OneToMany(cascade = CascadeType.ALL, mappedBy = "order", fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<OrderItem> orderLineItems;
 
     @PrePersist
@@ -17,6 +17,7 @@ public class OrderMapper {
                 .orderNumber(order.getOrderNumber())
                 .orderDate(order.getOrderDate())
                 .status(order.getStatus())
+                .statusReason(order.getStatusReason())
                 .totalPrice(order.getTotalPrice())
                 .userId(order.getUserId())
                 .orderLineItems(order.getOrderLineItems().stream()
@@ -2,6 +2,8 @@ package com.MS.commade.repository;
 
 import com.MS.commade.entities.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +11,10 @@ import java.util.Optional;
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUserId(Long userId);
+
+    // Only while the cart still holds the total the new one was computed against: 0 rows when it changed since
+    @Modifying
+    @Query("UPDATE Cart c SET c.totalPrice = :totalPrice WHERE c.id = :id"
+            + " AND (c.totalPrice = :storedTotal OR (c.totalPrice IS NULL AND :storedTotal IS NULL))")
+    int updateTotalPrice(Long id, Double storedTotal, Double totalPrice);
 }
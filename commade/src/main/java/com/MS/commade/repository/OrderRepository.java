@@ -1,12 +1,66 @@
 package com.MS.commade.repository;
 
 import com.MS.commade.entities.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+
+    // Line items are lazy: these variants fetch them in the same select when the caller maps them
+
+    @EntityGraph(attributePaths = "orderLineItems")
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = "orderLineItems")
+    @Query("SELECT o FROM Order o ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findAllWithItems();
+
+    @EntityGraph(attributePaths = "orderLineItems")
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId ORDER BY o.orderDate DESC, o.id DESC")
     List<Order> findByUserId(Long userId);
-}
 
+    // Async intake: an order is worked on only by the worker whose conditional UPDATE matched it
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = 'PROCESSING', o.claimedBy = :token, o.claimedAt = :now " +
+           "WHERE o.id = :id AND o.status = 'PENDING'")
+    int claimPending(Long id, String token, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.claimedBy = :token, o.claimedAt = :now " +
+           "WHERE o.id = :id AND o.status = 'PROCESSING' AND o.claimedAt < :staleBefore")
+    int reclaimStale(Long id, String token, LocalDateTime now, LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.statusReason = :reason " +
+           "WHERE o.id = :id AND o.status = 'PROCESSING' AND o.claimedBy = :token")
+    int finishClaim(Long id, String token, String status, String reason);
+
+    @Query("SELECT o.id FROM Order o WHERE (o.status = 'PENDING' AND o.orderDate < :staleBefore) " +
+           "OR (o.status = 'PROCESSING' AND o.claimedAt < :staleBefore) ORDER BY o.id")
+    List<Long> findIdsWithStaleClaim(LocalDateTime staleBefore);
+
+    // Orders whose stock reservation is not confirmed as committed yet
+
+    @Query("SELECT o FROM Order o WHERE o.stockReservationId IS NOT NULL ORDER BY o.id")
+    List<Order> findWithUncommittedReservation();
+
+    @Modifying
+    @Query("UPDATE Order o SET o.stockReservationId = NULL WHERE o.id = :id AND o.stockReservationId = :reservationId")
+    int clearStockReservation(Long id, String reservationId);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.statusReason = :reason, o.stockReservationId = NULL " +
+           "WHERE o.id = :id AND o.stockReservationId = :reservationId")
+    int failReservation(Long id, String reservationId, String status, String reason);
+}
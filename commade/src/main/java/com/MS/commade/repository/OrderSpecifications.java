@@ -0,0 +1,31 @@
+package com.MS.commade.repository;
+
+import com.MS.commade.entities.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query fragments for the paginated order history.
+ * A fragment returning a null predicate is ignored by Spring Data, so unset filters simply drop out.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> ofUser(Long userId) {
+        return (root, query, cb) -> userId == null ? null : cb.equal(root.get("userId"), userId);
+    }
+
+    /**
+     * Keyset predicate: rows strictly after (orderDate, id) for a listing ordered by (orderDate, id).
+     */
+    public static Specification<Order> after(LocalDateTime orderDate, Long id, boolean descending) {
+        return (root, query, cb) -> descending
+            ? cb.or(cb.lessThan(root.get("orderDate"), orderDate),
+                    cb.and(cb.equal(root.get("orderDate"), orderDate), cb.lessThan(root.get("id"), id)))
+            : cb.or(cb.greaterThan(root.get("orderDate"), orderDate),
+                    cb.and(cb.equal(root.get("orderDate"), orderDate), cb.greaterThan(root.get("id"), id)));
+    }
+}
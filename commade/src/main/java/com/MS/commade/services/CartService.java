@@ -1,143 +1,205 @@
 package com.MS.commade.services;
 
-import com.MS.commade.clients.ProductRestClient;
 import com.MS.commade.dto.CartItemResponse;
 import com.MS.commade.dto.CartResponse;
 import com.MS.commade.dto.ProductDto;
 import com.MS.commade.entities.Cart;
 import com.MS.commade.entities.CartItem;
 import com.MS.commade.repository.CartRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Every cart operation runs in three stages:
+ * 1. db: load/mutate the cart inside a short transaction and copy it into a detached CartResponse
+ * 2. products: resolve all product ids with one batch call, outside the transaction
+ * 3. assemble: fill in names, prices and totals
+ * 4. persist: write the new total back to Cart.totalPrice with a single UPDATE, only when it changed
+ *    and every line resolved to a real price. The UPDATE is conditional on the total read in stage 1, and
+ *    changing the lines clears the stored total: a total computed from lines that changed since is dropped
+ *    instead of overwriting the newer one (the next read writes it again)
+ * Each stage is timed under the "cart.stage" metric.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class CartService {
 
     private final CartRepository cartRepository;
-    private final ProductRestClient productRestClient;
+    private final ProductLookupService productLookupService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     public CartResponse getCart(Long userId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    Cart newCart = Cart.builder()
-                            .userId(userId)
-                            .items(new ArrayList<>())
-                            .totalPrice(0.0)
-                            .build();
-                    return cartRepository.save(newCart);
-                });
-
-        return mapToCartResponse(cart);
+        return hydrate("get", () -> mapToCartResponse(findOrCreateCart(userId)));
     }
 
     public CartResponse addToCart(Long userId, Long productId, Integer quantity) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    Cart newCart = Cart.builder()
-                            .userId(userId)
-                            .items(new ArrayList<>())
-                            .totalPrice(0.0)
-                            .build();
-                    return cartRepository.save(newCart);
-                });
+        return hydrate("add", () -> {
+            Cart cart = findOrCreateCart(userId);
 
-        Optional<CartItem> existingItem = cart.getItems().stream()
-                .filter(item -> item.getProductId().equals(productId))
-                .findFirst();
-
-        if (existingItem.isPresent()) {
-            CartItem item = existingItem.get();
-            item.setQuantity(item.getQuantity() + quantity);
-        } else {
-            CartItem newItem = CartItem.builder()
-                    .cart(cart)
-                    .productId(productId)
-                    .quantity(quantity)
-                    .build();
-            cart.getItems().add(newItem);
-        }
+            Optional<CartItem> existingItem = cart.getItems().stream()
+                    .filter(item -> item.getProductId().equals(productId))
+                    .findFirst();
 
-        Cart savedCart = cartRepository.save(cart);
-        return mapToCartResponse(savedCart);
+            if (existingItem.isPresent()) {
+                CartItem item = existingItem.get();
+                item.setQuantity(item.getQuantity() + quantity);
+            } else {
+                CartItem newItem = CartItem.builder()
+                        .cart(cart)
+                        .productId(productId)
+                        .quantity(quantity)
+                        .build();
+                cart.getItems().add(newItem);
+            }
+
+            return saveLines(cart);
+        });
     }
 
     public CartResponse removeFromCart(Long userId, Long productId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Cart not found"));
+        return hydrate("remove", () -> {
+            Cart cart = cartRepository.findByUserId(userId)
+                    .orElseThrow(() -> new RuntimeException("Cart not found"));
 
-        cart.getItems().removeIf(item -> item.getProductId().equals(productId));
-        
-        Cart savedCart = cartRepository.save(cart);
-        return mapToCartResponse(savedCart);
+            cart.getItems().removeIf(item -> item.getProductId().equals(productId));
+
+            return saveLines(cart);
+        });
     }
 
     public CartResponse updateCartItemQuantity(Long userId, Long productId, Integer quantity) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Cart not found"));
+        return hydrate("update", () -> {
+            Cart cart = cartRepository.findByUserId(userId)
+                    .orElseThrow(() -> new RuntimeException("Cart not found"));
+
+            Optional<CartItem> existingItem = cart.getItems().stream()
+                    .filter(item -> item.getProductId().equals(productId))
+                    .findFirst();
+
+            if (existingItem.isPresent()) {
+                CartItem item = existingItem.get();
+                if (quantity <= 0) {
+                    cart.getItems().remove(item);
+                } else {
+                    item.setQuantity(quantity);
+                }
+            }
 
-        Optional<CartItem> existingItem = cart.getItems().stream()
-                .filter(item -> item.getProductId().equals(productId))
-                .findFirst();
+            return saveLines(cart);
+        });
+    }
 
-        if (existingItem.isPresent()) {
-            CartItem item = existingItem.get();
-            if (quantity <= 0) {
-                cart.getItems().remove(item);
-            } else {
-                item.setQuantity(quantity);
+    public void clearCart(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Cart cart = cartRepository.findByUserId(userId)
+                    .orElse(null);
+
+            if (cart != null) {
+                cart.getItems().clear();
+                cart.setTotalPrice(0.0);
+                cartRepository.save(cart);
             }
-        }
+        });
+    }
 
-        Cart savedCart = cartRepository.save(cart);
-        return mapToCartResponse(savedCart);
+    private Cart findOrCreateCart(Long userId) {
+        return cartRepository.findByUserId(userId)
+                .orElseGet(() -> {
+                    Cart newCart = Cart.builder()
+                            .userId(userId)
+                            .items(new ArrayList<>())
+                            .totalPrice(0.0)
+                            .build();
+                    return cartRepository.save(newCart);
+                });
     }
 
-    public void clearCart(Long userId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElse(null);
-        
-        if (cart != null) {
-            cart.getItems().clear();
-            cart.setTotalPrice(0.0);
-            cartRepository.save(cart);
+    private CartResponse saveLines(Cart cart) {
+        // The stored total was computed from the old lines; concurrent readers must not write theirs back
+        cart.setTotalPrice(null);
+        return mapToCartResponse(cartRepository.saveAndFlush(cart));
+    }
+
+    private CartResponse hydrate(String operation, Supplier<CartResponse> dbStage) {
+        CartResponse cart = stageTimer(operation, "db").record(() -> transactionTemplate.execute(status -> dbStage.get()));
+
+        Map<Long, ProductDto> products = stageTimer(operation, "products").record(() -> fetchProducts(cart.getItems()));
+
+        Double storedTotal = cart.getTotalPrice();
+        boolean allPriced = products.keySet().containsAll(cart.getItems().stream()
+                .map(CartItemResponse::getProductId)
+                .collect(Collectors.toSet()));
+
+        CartResponse assembled = stageTimer(operation, "assemble").record(() -> {
+            List<CartItemResponse> items = cart.getItems().stream()
+                    .map(item -> mapToCartItemResponse(item, products.get(item.getProductId())))
+                    .collect(Collectors.toList());
+            cart.setItems(items);
+            cart.setTotalPrice(items.stream().mapToDouble(CartItemResponse::getSubtotal).sum());
+            return cart;
+        });
+
+        // Fallback "Unknown Product" lines are priced at 0, so never persist a total built from them
+        if (allPriced && !assembled.getTotalPrice().equals(storedTotal)) {
+            stageTimer(operation, "persist").record(() -> transactionTemplate.executeWithoutResult(status ->
+                    cartRepository.updateTotalPrice(assembled.getId(), storedTotal, assembled.getTotalPrice())));
+        }
+        return assembled;
+    }
+
+    private Map<Long, ProductDto> fetchProducts(List<CartItemResponse> items) {
+        try {
+            return productLookupService.getProducts(items.stream()
+                    .map(CartItemResponse::getProductId)
+                    .collect(Collectors.toList()));
+        } catch (Exception e) {
+            // Product service down: every line falls back to "Unknown Product" below
+            log.warn("Error fetching cart products: {}", e.getMessage());
+            return Map.of();
         }
     }
 
+    private Timer stageTimer(String operation, String stage) {
+        return Timer.builder("cart.stage")
+                .description("Time spent per cart operation stage")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    // Detached copy of the cart lines and stored total, safe to use once the transaction has ended
     private CartResponse mapToCartResponse(Cart cart) {
         List<CartItemResponse> itemResponses = cart.getItems().stream()
-                .map(this::mapToCartItemResponse)
+                .map(item -> CartItemResponse.builder()
+                        .id(item.getId())
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .build())
                 .collect(Collectors.toList());
 
-        double total = itemResponses.stream()
-                .mapToDouble(CartItemResponse::getSubtotal)
-                .sum();
-        
-        // Update total price in DB if needed, but for now just return it
-        cart.setTotalPrice(total);
-        
         return CartResponse.builder()
                 .id(cart.getId())
                 .userId(cart.getUserId())
                 .items(itemResponses)
-                .totalPrice(total)
+                .totalPrice(cart.getTotalPrice())
                 .build();
     }
 
-    private CartItemResponse mapToCartItemResponse(CartItem item) {
-        ProductDto product = null;
-        try {
-            product = productRestClient.getProductById(item.getProductId());
-        } catch (Exception e) {
-            System.err.println("Error fetching product " + item.getProductId() + ": " + e.getMessage());
-            e.printStackTrace();
+    private CartItemResponse mapToCartItemResponse(CartItemResponse item, ProductDto product) {
+        if (product == null) {
             // Fallback if product service is down or product deleted
             product = ProductDto.builder()
                     .id(item.getProductId())
@@ -146,14 +208,10 @@ public class CartService {
                     .build();
         }
 
-        return CartItemResponse.builder()
-                .id(item.getId())
-                .productId(item.getProductId())
-                .productName(product.getName())
-                .productImageUrl(product.getImageUrl())
-                .price(product.getPrice())
-                .quantity(item.getQuantity())
-                .subtotal(product.getPrice() * item.getQuantity())
-                .build();
+        item.setProductName(product.getName());
+        item.setProductImageUrl(product.getImageUrl());
+        item.setPrice(product.getPrice());
+        item.setSubtotal(product.getPrice() * item.getQuantity());
+        return item;
     }
 }
@@ -0,0 +1,160 @@
+package com.MS.commade.services;
+
+import com.MS.commade.dto.OrderLineItemsDto;
+import com.MS.commade.dto.OrderRequest;
+import com.MS.commade.dto.OrderResponse;
+import com.MS.commade.entities.IdempotencyRecord;
+import com.MS.commade.exception.IdempotencyKeyMismatchException;
+import com.MS.commade.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Two-level dedup store for Idempotency-Key headers on order placement.
+ * Memory: bounded, insertion-ordered map of key -> in-flight or completed response. Duplicates arriving
+ * while the first request runs wait on the same future; entries expire after the TTL and the oldest
+ * entries are evicted past max-entries.
+ * Database: one row per key, written in the same transaction as the order. It survives restarts and
+ * lets another instance detect the duplicate through the primary key.
+ * Both levels keep a hash of the request lines: reusing a key for a different order is rejected with
+ * {@link IdempotencyKeyMismatchException} instead of replaying the first one.
+ */
+@Service
+public class OrderIdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final long ttlSeconds;
+    private final Map<String, Entry> entries;
+
+    public OrderIdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                                 @Value("${order.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                 @Value("${order.idempotency.max-entries:10000}") int maxEntries) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Claims the key for the caller.
+     *
+     * @return null if the caller now owns the key and must execute the request (then complete {@code claim}),
+     *         otherwise the future of the request that owns it
+     * @throws IdempotencyKeyMismatchException if the key is held by a request with different lines
+     */
+    public CompletableFuture<OrderResponse> claim(String key, OrderRequest request, CompletableFuture<OrderResponse> claim) {
+        String requestHash = hash(request);
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            purgeExpired(now);
+
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                checkSameRequest(existing.requestHash, requestHash);
+                return existing.response;
+            }
+            entries.put(key, new Entry(claim, requestHash, now + ttlSeconds * 1000));
+            return null;
+        }
+    }
+
+    // Failed requests are not remembered: a retry with the same key executes again
+    public synchronized void forget(String key, CompletableFuture<OrderResponse> claim) {
+        Entry existing = entries.get(key);
+        if (existing != null && existing.response == claim) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * @throws IdempotencyKeyMismatchException if the key was stored for a request with different lines
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findStoredOrderId(String key, OrderRequest request) {
+        return idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(key, LocalDateTime.now())
+                .map(record -> {
+                    checkSameRequest(record.getRequestHash(), hash(request));
+                    return record.getOrderId();
+                });
+    }
+
+    /**
+     * Must run inside the transaction that saves the order, so key and order commit or roll back together.
+     */
+    @Transactional
+    public void record(String key, OrderRequest request, Long orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteExpired(key, now);
+        idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .orderId(orderId)
+                .requestHash(hash(request))
+                .expiresAt(now.plusSeconds(ttlSeconds))
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.cleanup-ms:3600000}")
+    @Transactional
+    public void purgeExpiredRecords() {
+        idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+    }
+
+    // Insertion order == expiry order (constant TTL), so only the head of the map needs checking
+    private void purgeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAtMillis <= now) {
+            iterator.remove();
+        }
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different order");
+        }
+    }
+
+    // SHA-256 of the lines as sent; the user is already part of the key
+    static String hash(OrderRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        if (request.getOrderLineItemsDtoList() != null) {
+            for (OrderLineItemsDto item : request.getOrderLineItemsDtoList()) {
+                canonical.append(item.getProductId()).append('x').append(item.getQuantity()).append('\n');
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<OrderResponse> response;
+        private final String requestHash;
+        private final long expiresAtMillis;
+
+        private Entry(CompletableFuture<OrderResponse> response, String requestHash, long expiresAtMillis) {
+            this.response = response;
+            this.requestHash = requestHash;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
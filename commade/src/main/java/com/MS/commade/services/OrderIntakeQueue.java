@@ -0,0 +1,82 @@
+package com.MS.commade.services;
+
+import com.Shared.tracing.TraceContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded work queue that finishes orders accepted in async mode.
+ * Capacity (running + waiting) is handed out as permits before the PENDING order is stored,
+ * so a saturated queue turns new async requests away instead of accepting work it cannot start.
+ */
+@Slf4j
+@Component
+public class OrderIntakeQueue {
+
+    private final ThreadPoolExecutor workers;
+    private final Semaphore slots;
+
+    public OrderIntakeQueue(@Value("${order.intake.workers:4}") int workerCount,
+                            @Value("${order.intake.queue-capacity:500}") int queueCapacity,
+                            MeterRegistry meterRegistry) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "order-intake-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // The queue itself is unbounded: the permits already cap it at workerCount + queueCapacity tasks
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.slots = new Semaphore(workerCount + queueCapacity);
+
+        Gauge.builder("order.intake.queued", workers, executor -> executor.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("order.intake.active", workers, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if a slot was taken; it must be handed to {@link #submit} or given back with {@link #releaseSlot}
+     */
+    public boolean tryAcquireSlot() {
+        return slots.tryAcquire();
+    }
+
+    public void releaseSlot() {
+        slots.release();
+    }
+
+    /**
+     * Runs the task on a worker, using a slot previously taken with {@link #tryAcquireSlot}.
+     */
+    public void submit(Runnable task) {
+        Runnable traced = TraceContext.wrap(task);
+        workers.execute(() -> {
+            try {
+                traced.run();
+            } catch (Exception e) {
+                log.error("Order intake task failed", e);
+            } finally {
+                slots.release();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Orders still queued stay PENDING and are resubmitted once their claim timeout has passed
+        workers.shutdownNow();
+    }
+}
@@ -1,98 +1,568 @@
 package com.MS.commade.services;
 
-import com.MS.commade.clients.ProductRestClient;
 import com.MS.commade.clients.ClientRestClient;
+import com.MS.commade.clients.ProductRestClient;
+import com.MS.commade.dto.OrderLineItemsDto;
+import com.MS.commade.dto.OrderPageResponse;
 import com.MS.commade.dto.ProductDto;
+import com.MS.commade.dto.StockReservationRequest;
 import com.MS.commade.dto.UserDto;
 import com.MS.commade.dto.OrderRequest;
 import com.MS.commade.dto.OrderResponse;
 import com.MS.commade.entities.Order;
 import com.MS.commade.entities.OrderItem;
+import com.MS.commade.exception.IdempotencyKeyMismatchException;
 import com.MS.commade.mapper.OrderMapper;
 import com.MS.commade.repository.OrderRepository;
-import lombok.RequiredArgsConstructor;
+import com.MS.commade.repository.OrderSpecifications;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
-@Transactional // Ensures if one item fails, the whole order is canceled
 public class OrderService {
 
+    private static final String STATUS_PENDING = "PENDING";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
+    private final ProductLookupService productLookupService;
     private final ProductRestClient productRestClient;
     private final ClientRestClient clientRestClient;
     private final OrderMapper orderMapper;
+    private final OrderIdempotencyStore idempotencyStore;
+    private final OrderIntakeQueue orderIntakeQueue;
+    private final OrderStatusNotifier orderStatusNotifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService orderValidationExecutor;
+
+    @Value("${order.validation.timeout-ms:3000}")
+    private long validationTimeoutMs;
+
+    @Value("${order.validation.batch-size:100}")
+    private int validationBatchSize;
+
+    @Value("${order.idempotency.wait-ms:10000}")
+    private long idempotencyWaitMs;
+
+    @Value("${order.intake.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    public OrderService(OrderRepository orderRepository,
+                        ProductLookupService productLookupService,
+                        ProductRestClient productRestClient,
+                        ClientRestClient clientRestClient,
+                        OrderMapper orderMapper,
+                        OrderIdempotencyStore idempotencyStore,
+                        OrderIntakeQueue orderIntakeQueue,
+                        OrderStatusNotifier orderStatusNotifier,
+                        TransactionTemplate transactionTemplate,
+                        @Qualifier("orderValidationExecutor") ExecutorService orderValidationExecutor) {
+        this.orderRepository = orderRepository;
+        this.productLookupService = productLookupService;
+        this.productRestClient = productRestClient;
+        this.clientRestClient = clientRestClient;
+        this.orderMapper = orderMapper;
+        this.idempotencyStore = idempotencyStore;
+        this.orderIntakeQueue = orderIntakeQueue;
+        this.orderStatusNotifier = orderStatusNotifier;
+        this.transactionTemplate = transactionTemplate;
+        this.orderValidationExecutor = orderValidationExecutor;
+    }
 
     /**
-     * Creates an order from a cart (list of items).
+     * Creates an order from a cart (list of items), at most once per Idempotency-Key.
+     * The first request with a key executes; duplicates (concurrent or within the TTL) wait for it
+     * or replay its stored OrderResponse without validating the products again.
      *
      * @param orderRequest the order request containing a list of items
-     * @return the saved Order object with all items
+     * @param idempotencyKey value of the Idempotency-Key header, or null to always create a new order
+     * @return the created (or replayed) order with all items
      * @throws IllegalArgumentException if any product is unavailable or out of stock
+     * @throws IdempotencyKeyMismatchException if the key was already used with different order lines
+     */
+    public OrderResponse placeOrder(OrderRequest orderRequest, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return orderMapper.fromEntity(createOrder(orderRequest, null));
+        }
+
+        // Keys are scoped per user so one client can never replay another client's order
+        String key = orderRequest.getUserId() + ":" + idempotencyKey;
+
+        CompletableFuture<OrderResponse> claim = new CompletableFuture<>();
+        CompletableFuture<OrderResponse> owner = idempotencyStore.claim(key, orderRequest, claim);
+        if (owner != null) {
+            return awaitOwner(owner);
+        }
+
+        try {
+            OrderResponse response = idempotencyStore.findStoredOrderId(key, orderRequest)
+                .map(this::getOrderById)
+                .orElseGet(() -> createOrderOnce(orderRequest, key));
+            claim.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            idempotencyStore.forget(key, claim);
+            claim.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Accepts an order without waiting for validation: the order is stored as PENDING and its
+     * validation, stock reservation and pricing run later on the intake queue.
+     * Clients follow it through {@link #getOrderById} or {@link #subscribeToStatus}.
+     * With an Idempotency-Key, duplicates get the already accepted order in its current state.
+     *
+     * @return the PENDING order (or the replayed one)
+     * @throws RejectedExecutionException if the intake queue is full
+     * @throws IdempotencyKeyMismatchException if the key was already used with different order lines
+     */
+    public OrderResponse placeOrderAsync(OrderRequest orderRequest, String idempotencyKey) {
+        String key = idempotencyKey == null || idempotencyKey.isBlank()
+            ? null : orderRequest.getUserId() + ":" + idempotencyKey;
+        if (key != null) {
+            Optional<Long> existing = idempotencyStore.findStoredOrderId(key, orderRequest);
+            if (existing.isPresent()) {
+                return getOrderById(existing.get());
+            }
+        }
+
+        if (!orderIntakeQueue.tryAcquireSlot()) {
+            throw new RejectedExecutionException("Order intake queue is full");
+        }
+
+        Order pending;
+        try {
+            pending = savePendingOrder(orderRequest, key);
+        } catch (DataIntegrityViolationException e) {
+            orderIntakeQueue.releaseSlot();
+            if (key == null) {
+                throw e;
+            }
+            return idempotencyStore.findStoredOrderId(key, orderRequest)
+                .map(this::getOrderById)
+                .orElseThrow(() -> e);
+        } catch (RuntimeException e) {
+            orderIntakeQueue.releaseSlot();
+            throw e;
+        }
+
+        Long orderId = pending.getId();
+        orderIntakeQueue.submit(() -> completePendingOrder(orderId));
+        return orderMapper.fromEntity(pending);
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of the order's status, starting with its current state.
+     *
+     * @throws IllegalArgumentException if order is not found
+     */
+    public SseEmitter subscribeToStatus(Long orderId) {
+        // Fail before registering anything if the order does not exist
+        getOrderById(orderId);
+        return orderStatusNotifier.subscribe(orderId, () -> getOrderById(orderId));
+    }
+
+    /**
+     * Queues again the async orders nobody is working on any more (the intake queue lives in memory):
+     * PENDING orders older than {@code order.intake.claim-timeout-ms}, and PROCESSING orders whose claim
+     * is that old, left by a crashed or stuck instance. Fresh claims are left to their owner.
+     * Orders that do not fit in the queue are picked up by a later run.
      */
-    public Order placeOrder(OrderRequest orderRequest) {
+    @Scheduled(fixedDelayString = "${order.intake.recovery-ms:60000}")
+    public void resubmitStaleOrders() {
+        List<Long> staleIds = orderRepository.findIdsWithStaleClaim(LocalDateTime.now().minusNanos(claimTimeoutMs * 1_000_000));
+        int resubmitted = 0;
+        for (Long orderId : staleIds) {
+            if (!orderIntakeQueue.tryAcquireSlot()) {
+                break;
+            }
+            orderIntakeQueue.submit(() -> completePendingOrder(orderId));
+            resubmitted++;
+        }
+        if (!staleIds.isEmpty()) {
+            log.info("Resubmitted {} of {} stale async orders", resubmitted, staleIds.size());
+        }
+    }
+
+    private Order savePendingOrder(OrderRequest orderRequest, String idempotencyKey) {
+        return transactionTemplate.execute(status -> {
+            Order order = Order.builder()
+                .orderNumber(UUID.randomUUID().toString())
+                .userId(orderRequest.getUserId())
+                .status(STATUS_PENDING)
+                .totalPrice(0.0)
+                .build();
+
+            // Prices are filled in once the products have been validated
+            order.setOrderLineItems(orderRequest.getOrderLineItemsDtoList()
+                .stream()
+                .map(itemDto -> OrderItem.builder()
+                    .productId(itemDto.getProductId())
+                    .quantity(itemDto.getQuantity())
+                    .price(0.0)
+                    .order(order)
+                    .build())
+                .collect(Collectors.toList()));
+
+            Order savedOrder = orderRepository.save(order);
+            if (idempotencyKey != null) {
+                idempotencyStore.record(idempotencyKey, orderRequest, savedOrder.getId());
+            }
+            return savedOrder;
+        });
+    }
+
+    /**
+     * Runs on the intake queue: the same checks as a synchronous checkout, then prices the stored lines.
+     * The order is first claimed (PENDING to PROCESSING with a token) so that only one worker, on any
+     * instance, handles it; every later write is conditional on still holding that claim.
+     * Validation failures end in REJECTED, anything else in FAILED; subscribers are told either way.
+     */
+    private void completePendingOrder(Long orderId) {
+        String token = UUID.randomUUID().toString();
+        Order pending = transactionTemplate.execute(status -> claim(orderId, token)
+            ? orderRepository.findWithItemsById(orderId).orElse(null)
+            : null);
+        if (pending == null) {
+            return;
+        }
+
+        Map<Long, Integer> requestedQuantities = new LinkedHashMap<>();
+        pending.getOrderLineItems()
+            .forEach(item -> requestedQuantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+
+        try {
+            Map<Long, ProductDto> products = validateOrder(pending.getUserId(), requestedQuantities);
+            String reservationId = reserveStock(requestedQuantities);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Row-locks the order until commit; fails if another worker took over a stale claim
+                    if (orderRepository.finishClaim(orderId, token, "CREATED", null) == 0) {
+                        throw new ClaimLostException(orderId);
+                    }
+                    Order order = orderRepository.findWithItemsById(orderId)
+                        .orElseThrow(() -> new IllegalStateException("Order with ID " + orderId + " disappeared"));
+                    order.getOrderLineItems()
+                        .forEach(item -> item.setPrice(products.get(item.getProductId()).getPrice()));
+                    order.setTotalPrice(order.getOrderLineItems().stream()
+                        .mapToDouble(item -> item.getPrice() * item.getQuantity())
+                        .sum());
+                    order.setStockReservationId(reservationId);
+                });
+            } catch (RuntimeException e) {
+                releaseReservationQuietly(reservationId);
+                throw e;
+            }
+            commitReservation(orderId, reservationId);
+        } catch (ClaimLostException e) {
+            log.warn(e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            log.info("Async order {} rejected: {}", orderId, e.getMessage());
+            markUnsuccessful(orderId, token, "REJECTED", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Async order {} failed", orderId, e);
+            markUnsuccessful(orderId, token, "FAILED", e.getMessage());
+        }
+
+        orderStatusNotifier.publish(getOrderById(orderId));
+    }
+
+    // PENDING orders are claimed right away; PROCESSING ones only once their claim is older than the timeout
+    private boolean claim(Long orderId, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        return orderRepository.claimPending(orderId, token, now) == 1
+            || orderRepository.reclaimStale(orderId, token, now, now.minusNanos(claimTimeoutMs * 1_000_000)) == 1;
+    }
+
+    private void markUnsuccessful(Long orderId, String token, String status, String reason) {
+        String statusReason = reason != null && reason.length() > 500 ? reason.substring(0, 500) : reason;
+        Integer updated = transactionTemplate.execute(tx -> orderRepository.finishClaim(orderId, token, status, statusReason));
+        if (updated == null || updated == 0) {
+            log.warn("Async order {} was taken over by another worker, {} not recorded", orderId, status);
+        }
+    }
+
+    private static final class ClaimLostException extends RuntimeException {
+        private ClaimLostException(Long orderId) {
+            super("Async order " + orderId + " was taken over by another worker, its result is dropped");
+        }
+    }
+
+    private OrderResponse createOrderOnce(OrderRequest orderRequest, String key) {
+        try {
+            return orderMapper.fromEntity(createOrder(orderRequest, key));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first: replay its order instead
+            return idempotencyStore.findStoredOrderId(key, orderRequest)
+                .map(this::getOrderById)
+                .orElseThrow(() -> e);
+        }
+    }
+
+    private OrderResponse awaitOwner(CompletableFuture<OrderResponse> owner) {
+        try {
+            return owner.get(idempotencyWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The first request failed: duplicates report the same failure
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Order placement failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Order with the same Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original order request");
+        }
+    }
+
+    private Order createOrder(OrderRequest orderRequest, String idempotencyKey) {
         // Validate that the cart is not empty
         if (orderRequest.getOrderLineItemsDtoList() == null || orderRequest.getOrderLineItemsDtoList().isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
 
-        // 0. Verify User exists
-        UserDto user = clientRestClient.getUserById(orderRequest.getUserId());
-        if (user == null) {
-            throw new IllegalArgumentException("User with ID " + orderRequest.getUserId() + " not found");
-        }
+        // Merge duplicate lines so each product is fetched and stock-checked once, against the total quantity
+        Map<Long, Integer> requestedQuantities = new LinkedHashMap<>();
+        orderRequest.getOrderLineItemsDtoList()
+            .forEach(itemDto -> requestedQuantities.merge(itemDto.getProductId(), itemDto.getQuantity(), Integer::sum));
 
-        // Create the Order header
-        Order order = Order.builder()
-            .orderNumber(UUID.randomUUID().toString())
-            .userId(orderRequest.getUserId())
-            .status("CREATED")
-            .build();
+        // 0. Verify User and Products concurrently, before any DB connection is taken
+        Map<Long, ProductDto> products = validateOrder(orderRequest.getUserId(), requestedQuantities);
 
-        // 1. Convert DTOs to Entities & Calculate Total
-        List<OrderItem> orderItems = orderRequest.getOrderLineItemsDtoList()
-            .stream()
-            .map(itemDto -> {
-                // CALL PRODUCT MS (Synchronous via Feign)
-                ProductDto product = productRestClient.getProductById(itemDto.getProductId());
+        // Take the stock atomically in Product MS; losing a race with another checkout surfaces here
+        String reservationId = reserveStock(requestedQuantities);
 
-                // Check if product is available (fallback returns null ID)
-                if (product == null || product.getId() == null) {
-                    throw new IllegalArgumentException("Product with ID " + itemDto.getProductId() + " is unavailable");
-                }
+        // Only now open the write transaction: if saving fails, the whole order is canceled
+        Order savedOrder;
+        try {
+            savedOrder = saveOrder(orderRequest, products, idempotencyKey, reservationId);
+        } catch (RuntimeException e) {
+            releaseReservationQuietly(reservationId);
+            throw e;
+        }
 
-                // Verify Stock
-                if (product.getStockQuantity() < itemDto.getQuantity()) {
-                    throw new IllegalArgumentException("Product '" + product.getName() + "' is out of stock. " +
-                        "Available: " + product.getStockQuantity() + ", Requested: " + itemDto.getQuantity());
-                }
+        commitReservation(savedOrder.getId(), reservationId);
+        return savedOrder;
+    }
 
-                // Create OrderItem with the real price from Product MS
-                return OrderItem.builder()
+    private Order saveOrder(OrderRequest orderRequest, Map<Long, ProductDto> products, String idempotencyKey,
+                            String reservationId) {
+        return transactionTemplate.execute(status -> {
+            // Create the Order header; the reservation id stays on it until the commit is confirmed
+            Order order = Order.builder()
+                .orderNumber(UUID.randomUUID().toString())
+                .userId(orderRequest.getUserId())
+                .status("CREATED")
+                .stockReservationId(reservationId)
+                .build();
+
+            // 1. Convert DTOs to Entities with the real price from Product MS
+            List<OrderItem> orderItems = orderRequest.getOrderLineItemsDtoList()
+                .stream()
+                .map(itemDto -> OrderItem.builder()
                     .productId(itemDto.getProductId())
                     .quantity(itemDto.getQuantity())
-                    .price(product.getPrice()) // Use real price from Product DB
+                    .price(products.get(itemDto.getProductId()).getPrice()) // Use real price from Product DB
                     .order(order)
-                    .build();
-            })
-            .collect(Collectors.toList());
+                    .build())
+                .collect(Collectors.toList());
 
-        // Set items to order
-        order.setOrderLineItems(orderItems);
+            // Set items to order
+            order.setOrderLineItems(orderItems);
 
-        // 2. Calculate total price
-        double total = orderItems.stream()
-            .mapToDouble(item -> item.getPrice() * item.getQuantity())
-            .sum();
-        order.setTotalPrice(total);
+            // 2. Calculate total price
+            double total = orderItems.stream()
+                .mapToDouble(item -> item.getPrice() * item.getQuantity())
+                .sum();
+            order.setTotalPrice(total);
 
-        // 3. Save Order (Cascading saves Items too)
-        return orderRepository.save(order);
+            // 3. Save Order (Cascading saves Items too)
+            Order savedOrder = orderRepository.save(order);
+
+            // 4. Remember the key in the same transaction; a concurrent duplicate fails here on the primary key
+            if (idempotencyKey != null) {
+                idempotencyStore.record(idempotencyKey, orderRequest, savedOrder.getId());
+            }
+            return savedOrder;
+        });
+    }
+
+    /**
+     * Runs the user check and the product lookups (in batches of {@code order.validation.batch-size})
+     * in parallel on the bounded validation pool, under one overall deadline.
+     * The first failing check (unknown user, unavailable or out-of-stock product) aborts the wait immediately.
+     *
+     * @return the validated products keyed by id
+     */
+    private Map<Long, ProductDto> validateOrder(Long userId, Map<Long, Integer> requestedQuantities) {
+        Map<Long, ProductDto> products = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> checks = new ArrayList<>();
+
+        checks.add(CompletableFuture.runAsync(() -> {
+            UserDto user = clientRestClient.getUserById(userId);
+            if (user == null) {
+                throw new IllegalArgumentException("User with ID " + userId + " not found");
+            }
+        }, orderValidationExecutor));
+
+        List<Long> productIds = new ArrayList<>(requestedQuantities.keySet());
+        for (int from = 0; from < productIds.size(); from += validationBatchSize) {
+            List<Long> batch = productIds.subList(from, Math.min(from + validationBatchSize, productIds.size()));
+            checks.add(CompletableFuture.runAsync(
+                () -> products.putAll(checkProducts(batch, requestedQuantities)), orderValidationExecutor));
+        }
+
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        checks.forEach(check -> check.whenComplete((ignored, error) -> {
+            if (error != null) {
+                firstFailure.completeExceptionally(error);
+            }
+        }));
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(checks.toArray(new CompletableFuture[0])), firstFailure)
+                .get(validationTimeoutMs, TimeUnit.MILLISECONDS);
+            return products;
+        } catch (ExecutionException e) {
+            // Failures relayed through firstFailure are still wrapped in the CompletionException of the check
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Order validation failed", cause);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Order validation did not complete within " + validationTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Order validation interrupted");
+        } finally {
+            checks.forEach(check -> check.cancel(false));
+        }
+    }
+
+    private String reserveStock(Map<Long, Integer> requestedQuantities) {
+        StockReservationRequest request = new StockReservationRequest(requestedQuantities.entrySet().stream()
+            .map(entry -> new OrderLineItemsDto(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList()));
+        try {
+            return productRestClient.reserveStock(request).getReservationId();
+        } catch (RuntimeException e) {
+            if (hasStatus(e, 409)) {
+                throw new IllegalArgumentException("Insufficient stock to place the order");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Commits the stock reservation of a stored order, then forgets the reservation id on the order.
+     * A transient failure leaves the id in place for {@link #retryReservationCommits}; a reservation
+     * Product MS no longer holds (released on expiry, or unknown) fails the order, since its stock is gone.
+     */
+    private void commitReservation(Long orderId, String reservationId) {
+        try {
+            productRestClient.commitReservation(reservationId);
+        } catch (RuntimeException e) {
+            if (hasStatus(e, 409) || hasStatus(e, 404)) {
+                log.error("Stock reservation {} of order {} expired before its commit", reservationId, orderId);
+                boolean failed = Boolean.TRUE.equals(transactionTemplate.execute(status -> orderRepository.failReservation(
+                    orderId, reservationId, "FAILED", "Stock reservation expired before it could be committed") > 0));
+                if (failed) {
+                    orderStatusNotifier.publish(getOrderById(orderId));
+                }
+            } else {
+                log.warn("Failed to commit stock reservation {} of order {}, will retry: {}",
+                    reservationId, orderId, e.getMessage());
+            }
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> orderRepository.clearStockReservation(orderId, reservationId));
+    }
+
+    /**
+     * Retries the commits that failed after their order was stored. The interval must stay well below
+     * Product MS's reservation TTL, otherwise the reservation is given back before the retry gets to it.
+     */
+    @Scheduled(fixedDelayString = "${order.reservation.commit-retry-ms:30000}")
+    public void retryReservationCommits() {
+        for (Order order : orderRepository.findWithUncommittedReservation()) {
+            commitReservation(order.getId(), order.getStockReservationId());
+        }
+    }
+
+    private void releaseReservationQuietly(String reservationId) {
+        try {
+            productRestClient.releaseReservation(reservationId);
+        } catch (Exception e) {
+            // Product MS releases it on expiry anyway
+            log.warn("Failed to release stock reservation {}: {}", reservationId, e.getMessage());
+        }
+    }
+
+    // Feign errors may arrive wrapped by the circuit breaker layer
+    private static boolean hasStatus(Throwable error, int status) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof FeignException feignException && feignException.status() == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<Long, ProductDto> checkProducts(List<Long> productIds, Map<Long, Integer> requestedQuantities) {
+        Map<Long, ProductDto> found = productLookupService.getProducts(productIds);
+
+        for (Long productId : productIds) {
+            ProductDto product = found.get(productId);
+
+            // Check if product is available
+            if (product == null || product.getId() == null) {
+                throw new IllegalArgumentException("Product with ID " + productId + " is unavailable");
+            }
+
+            // Verify Stock
+            Integer requested = requestedQuantities.get(productId);
+            if (product.getStockQuantity() < requested) {
+                throw new IllegalArgumentException("Product '" + product.getName() + "' is out of stock. " +
+                    "Available: " + product.getStockQuantity() + ", Requested: " + requested);
+            }
+        }
+        return found;
     }
 
     /**
@@ -102,19 +572,69 @@ public class OrderService {
      * @return the OrderResponse DTO with all items
      * @throws IllegalArgumentException if order is not found
      */
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        return orderRepository.findById(id)
+        return orderRepository.findWithItemsById(id)
                 .map(orderMapper::fromEntity)
                 .orElseThrow(() -> new IllegalArgumentException("Order with ID " + id + " not found"));
     }
 
+    /**
+     * Keyset-paginated order history ordered by (orderDate, id), newest first unless direction is "asc".
+     * The next page resumes strictly after the cursor row, so paging stays stable while new orders arrive.
+     * Line items of the page are loaded with batched IN queries instead of one select per order.
+     *
+     * @param userId restricts the listing to one user, or null for every order (admin)
+     * @param cursor opaque cursor returned as nextCursor by the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersPage(Long userId, String cursor, Integer size, String direction) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean descending = !"asc".equalsIgnoreCase(direction);
+        Sort.Direction sortDirection = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(sortDirection, "orderDate").and(Sort.by(sortDirection, "id"));
+
+        Specification<Order> spec = OrderSpecifications.ofUser(userId);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(decodeCursor(cursor, descending));
+        }
+
+        // Fetch one extra row to know whether another page exists, without a count query
+        List<Order> rows = orderRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        boolean hasMore = rows.size() > pageSize;
+        List<Order> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<OrderResponse> items = pageRows.stream()
+                .map(orderMapper::fromEntity)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? encodeCursor(pageRows.get(pageRows.size() - 1)) : null;
+        return new OrderPageResponse(items, items.size(), hasMore, nextCursor);
+    }
+
+    // Cursor = base64url("orderDate|id")
+    private static String encodeCursor(Order last) {
+        String raw = last.getOrderDate() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Specification<Order> decodeCursor(String cursor, boolean descending) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            return OrderSpecifications.after(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]), descending);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
     /**
      * Retrieves all orders.
      *
      * @return list of OrderResponse DTOs
      */
+    @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
+        return orderRepository.findAllWithItems().stream()
                 .map(orderMapper::fromEntity)
                 .collect(Collectors.toList());
     }
@@ -125,6 +645,7 @@ public class OrderService {
      * @param userId the user ID
      * @return list of OrderResponse DTOs
      */
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByUserId(Long userId) {
         return orderRepository.findByUserId(userId).stream()
                 .map(orderMapper::fromEntity)
@@ -138,8 +659,9 @@ public class OrderService {
      * @param status the new status
      * @return the updated OrderResponse
      */
+    @Transactional
     public OrderResponse updateOrderStatus(Long id, String status) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Order with ID " + id + " not found"));
         order.setStatus(status);
         Order savedOrder = orderRepository.save(order);
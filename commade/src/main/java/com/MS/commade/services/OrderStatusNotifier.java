@@ -0,0 +1,78 @@
+package com.MS.commade.services;
+
+import com.MS.commade.dto.OrderResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Pushes order status transitions to clients subscribed through Server-Sent Events.
+ * Streams end once the order is no longer PENDING or PROCESSING.
+ */
+@Component
+public class OrderStatusNotifier {
+
+    private static final long EMITTER_TIMEOUT_MS = 5 * 60 * 1000L;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a stream for the order, then sends it the current state.
+     * Registering first means a transition happening in between is never missed (at worst it is sent twice).
+     */
+    public SseEmitter subscribe(Long orderId, Supplier<OrderResponse> currentState) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        subscribers.computeIfAbsent(orderId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(() -> unsubscribe(orderId, emitter));
+        emitter.onError(error -> unsubscribe(orderId, emitter));
+
+        OrderResponse current = currentState.get();
+        if (send(emitter, current) && isFinal(current)) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void publish(OrderResponse order) {
+        List<SseEmitter> emitters = isFinal(order)
+            ? subscribers.remove(order.getId())
+            : subscribers.get(order.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (send(emitter, order) && isFinal(order)) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, OrderResponse order) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(order));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the stream already ended
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Long orderId, SseEmitter emitter) {
+        subscribers.computeIfPresent(orderId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static boolean isFinal(OrderResponse order) {
+        return !"PENDING".equals(order.getStatus()) && !"PROCESSING".equals(order.getStatus());
+    }
+}
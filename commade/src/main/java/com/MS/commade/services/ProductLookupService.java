@@ -0,0 +1,43 @@
+package com.MS.commade.services;
+
+import com.MS.commade.clients.ProductRestClient;
+import com.MS.commade.dto.ProductBatchDto;
+import com.MS.commade.dto.ProductDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves product details for many ids with a single batch call to Product MS.
+ * Not transactional on purpose: callers should invoke it after their DB work is committed,
+ * so no connection is held while waiting on the network.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductLookupService {
+
+    private final ProductRestClient productRestClient;
+
+    /**
+     * @return products keyed by id; ids unknown to Product MS are simply absent from the map
+     */
+    public Map<Long, ProductDto> getProducts(Collection<Long> productIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(productIds);
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+
+        ProductBatchDto batch = productRestClient.getProductsByIds(distinctIds);
+        if (batch == null || batch.getProducts() == null) {
+            return Map.of();
+        }
+        return batch.getProducts().stream()
+                .collect(Collectors.toMap(ProductDto::getId, Function.identity(), (first, second) -> first));
+    }
+}
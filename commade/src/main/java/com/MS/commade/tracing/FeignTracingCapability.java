@@ -0,0 +1,66 @@
+package com.MS.commade.tracing;
+
+import com.Shared.tracing.SpanRecorder;
+import com.Shared.tracing.TraceContext;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wraps every Feign client: each call becomes a CLIENT span (named after the client method) and sends its
+ * traceparent downstream, so product-service and MS-CLIENT continue the checkout trace.
+ */
+@Component
+public class FeignTracingCapability implements Capability {
+
+    private final SpanRecorder spanRecorder;
+
+    public FeignTracingCapability(SpanRecorder spanRecorder) {
+        this.spanRecorder = spanRecorder;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            TraceContext parent = TraceContext.current();
+            if (parent == null) {
+                return client.execute(request, options);
+            }
+
+            TraceContext span = parent.child();
+            long startMillis = System.currentTimeMillis();
+            long start = System.nanoTime();
+            String outcome = null;
+            try {
+                Response response = client.execute(withTraceparent(request, span), options);
+                outcome = String.valueOf(response.status());
+                return response;
+            } catch (RuntimeException | IOException e) {
+                outcome = "ERROR " + e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                String name = request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null
+                        ? request.requestTemplate().methodMetadata().configKey()
+                        : request.httpMethod() + " " + request.url();
+                spanRecorder.record(span, parent.spanId(), "CLIENT", name,
+                        startMillis, System.nanoTime() - start, outcome);
+            }
+        };
+    }
+
+    private static Request withTraceparent(Request request, TraceContext span) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.put(TraceContext.HEADER, new ArrayList<>(List.of(span.header())));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+}
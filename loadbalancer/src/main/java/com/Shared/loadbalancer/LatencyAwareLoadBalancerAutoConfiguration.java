@@ -0,0 +1,16 @@
+package com.Shared.loadbalancer;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+/**
+ * Every load-balanced client of the service (gateway lb:// routes, load-balanced WebClients, Feign clients)
+ * picks instances by latency instead of round-robin, see {@link LatencyAwareLoadBalancerConfiguration}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(LoadBalancerClientFactory.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LatencyAwareLoadBalancerAutoConfiguration {
+}
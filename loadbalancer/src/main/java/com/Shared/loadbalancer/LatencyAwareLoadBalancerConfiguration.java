@@ -0,0 +1,45 @@
+package com.Shared.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Per-service load balancer configuration (loaded in each service's child context through the
+ * LoadBalancerClients#defaultConfiguration of {@link LatencyAwareLoadBalancerAutoConfiguration}, hence no
+ * @Configuration: it must not be picked up by the application context itself).
+ * loadbalancer.latency-aware.strategy selects peak-ewma (default), least-outstanding or round-robin.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    private static final String PREFIX = "loadbalancer.latency-aware.";
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory clientFactory) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        String strategy = environment.getProperty(PREFIX + "strategy", "peak-ewma").toLowerCase(Locale.ROOT);
+        if ("round-robin".equals(strategy)) {
+            return new RoundRobinLoadBalancer(
+                    clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId);
+        }
+
+        PeakEwmaLoadBalancer.Settings settings = new PeakEwmaLoadBalancer.Settings(
+                "least-outstanding".equals(strategy)
+                        ? PeakEwmaLoadBalancer.Strategy.LEAST_OUTSTANDING
+                        : PeakEwmaLoadBalancer.Strategy.PEAK_EWMA,
+                Duration.ofMillis(environment.getProperty(PREFIX + "decay-ms", Long.class, 10000L)),
+                Duration.ofMillis(environment.getProperty(PREFIX + "slow-start-ms", Long.class, 30000L)),
+                Duration.ofMillis(environment.getProperty(PREFIX + "failure-penalty-ms", Long.class, 1000L)),
+                Duration.ofMillis(environment.getProperty(PREFIX + "in-flight-timeout-ms", Long.class, 60000L)));
+        return new PeakEwmaLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, settings);
+    }
+}
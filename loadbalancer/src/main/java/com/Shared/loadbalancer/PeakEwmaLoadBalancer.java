@@ -0,0 +1,275 @@
+package com.Shared.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency-aware replacement of the round-robin chooser, one instance per load-balanced service.
+ * Picks the better of two random instances ("power of two choices") by cost:
+ * - PEAK_EWMA: peak-sensitive moving average of response times (jumps up on a slow response, decays back over
+ *   decay time) multiplied by outstanding requests + 1,
+ * - LEAST_OUTSTANDING: outstanding requests + 1.
+ * Instances seen for less than the slow-start window have their cost divided by their age share (10% minimum),
+ * so a freshly registered replica with a cold JIT is ramped up instead of flooded.
+ * Latencies and outstanding counts come from the load balancer lifecycle callbacks, which Spring Cloud invokes
+ * for gateway lb:// routes, load-balanced WebClients and Feign clients alike. A cancelled request never gets its
+ * onComplete, so every started request is also tracked with its start time and stops counting as outstanding
+ * once it is older than the in-flight timeout.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    public enum Strategy {
+        PEAK_EWMA, LEAST_OUTSTANDING
+    }
+
+    public record Settings(Strategy strategy, Duration decay, Duration slowStart, Duration failurePenalty,
+                           Duration inFlightTimeout) {
+    }
+
+    private static final double MIN_SLOW_START_WEIGHT = 0.1;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final Strategy strategy;
+    private final double decayNanos;
+    private final long slowStartNanos;
+    private final long failurePenaltyNanos;
+    private final long inFlightTimeoutNanos;
+    private final LongSupplier clock;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final Map<RequestKey, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong lastExpiry;
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                String serviceId, Settings settings) {
+        this(serviceInstanceListSupplierProvider, serviceId, settings, System::nanoTime);
+    }
+
+    PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                         String serviceId, Settings settings, LongSupplier clock) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.strategy = settings.strategy();
+        this.decayNanos = settings.decay().toNanos();
+        this.slowStartNanos = settings.slowStart().toNanos();
+        this.failurePenaltyNanos = settings.failurePenalty().toNanos();
+        this.inFlightTimeoutNanos = settings.inFlightTimeout().toNanos();
+        this.clock = clock;
+        this.lastExpiry = new AtomicLong(clock.getAsLong());
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        long now = clock.getAsLong();
+        expireInFlight(now);
+        pruneGone(instances);
+        if (instances.size() == 1) {
+            statsOf(instances.get(0), now);
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(cost(statsOf(a, now), now) <= cost(statsOf(b, now), now) ? a : b);
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        InstanceStats instance = statsOf(lbResponse.getServer(), now);
+        instance.outstanding.incrementAndGet();
+        inFlight.put(new RequestKey(request), new InFlight(instance, now));
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Request<?> request = completionContext.getLoadBalancerRequest();
+        InFlight started = request != null ? inFlight.remove(new RequestKey(request)) : null;
+        // Not found: never started, or already expired and no longer counted
+        if (started == null) {
+            return;
+        }
+        started.instance().outstanding.decrementAndGet();
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+        long latency = now - started.startNanos();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            // A failing instance must look slow, even if it failed fast
+            latency = Math.max(latency, failurePenaltyNanos);
+        }
+        started.instance().observe(latency, now, decayNanos);
+    }
+
+    /**
+     * Current cost of an instance, lower is better. Package-private for tests.
+     */
+    double cost(InstanceStats instance, long now) {
+        int outstanding = Math.max(instance.outstanding.get(), 0);
+        double cost;
+        if (strategy == Strategy.LEAST_OUTSTANDING) {
+            cost = outstanding + 1;
+        } else {
+            double latency = instance.latency(now, decayNanos);
+            // Nothing measured yet but busy: do not pile more requests on it
+            if (latency == 0 && outstanding > 0) {
+                latency = failurePenaltyNanos;
+            }
+            cost = latency * (outstanding + 1);
+        }
+
+        long age = now - instance.firstSeen;
+        if (slowStartNanos > 0 && age < slowStartNanos) {
+            cost /= Math.max((double) age / slowStartNanos, MIN_SLOW_START_WEIGHT);
+        }
+        return cost;
+    }
+
+    InstanceStats statsOf(ServiceInstance instance, long now) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats(now));
+    }
+
+    // Runs at most every quarter of the timeout, from whichever choose() gets there first
+    private void expireInFlight(long now) {
+        long last = lastExpiry.get();
+        if (inFlightTimeoutNanos <= 0 || now - last < inFlightTimeoutNanos / 4 || !lastExpiry.compareAndSet(last, now)) {
+            return;
+        }
+        inFlight.forEach((request, started) -> {
+            if (now - started.startNanos() > inFlightTimeoutNanos && inFlight.remove(request, started)) {
+                started.instance().outstanding.decrementAndGet();
+            }
+        });
+    }
+
+    private void pruneGone(List<ServiceInstance> instances) {
+        // Deregistered instances: only checked once the map clearly outgrew the live list
+        if (stats.size() <= instances.size() * 2) {
+            return;
+        }
+        Set<String> live = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            live.add(key(instance));
+        }
+        stats.keySet().retainAll(live);
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    @Override
+    public String toString() {
+        return "PeakEwmaLoadBalancer[" + serviceId + ", " + strategy + "]";
+    }
+
+    // Lifecycle callbacks get the same Request object for start and completion: match it by identity
+    private record RequestKey(Request<?> request) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RequestKey key && key.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+
+    private record InFlight(InstanceStats instance, long startNanos) {
+    }
+
+    static final class InstanceStats {
+
+        final AtomicInteger outstanding = new AtomicInteger();
+        final long firstSeen;
+        private double latency;
+        private long stamp;
+
+        InstanceStats(long firstSeen) {
+            this.firstSeen = firstSeen;
+            this.stamp = firstSeen;
+        }
+
+        synchronized void observe(long sample, long now, double decayNanos) {
+            double decayed = decayed(now, decayNanos);
+            if (sample > decayed) {
+                latency = sample;
+            } else {
+                double weight = Math.exp(-(now - stamp) / decayNanos);
+                latency = latency * weight + sample * (1 - weight);
+            }
+            stamp = now;
+        }
+
+        synchronized double latency(long now, double decayNanos) {
+            return decayed(now, decayNanos);
+        }
+
+        // An idle instance drifts back toward zero, so a past slow spell does not exclude it forever
+        private double decayed(long now, double decayNanos) {
+            return latency * Math.exp(-(now - stamp) / decayNanos);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.Shared.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Discrete-event simulation against stub instances: one request arrives every millisecond and takes the
+ * latency of the instance it was sent to. Time is virtual, so the results are deterministic up to the
+ * random pair selection.
+ */
+class PeakEwmaLoadBalancerSimulationTest {
+
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final Duration IN_FLIGHT_TIMEOUT = Duration.ofSeconds(1);
+
+	private long now;
+
+	@Test
+	void slowReplicaGetsLittleTraffic() {
+		List<ServiceInstance> instances = List.of(instance("fast-1"), instance("fast-2"), instance("slow"));
+		Map<String, Long> latencies = Map.of("fast-1", 10 * MS, "fast-2", 10 * MS, "slow", 200 * MS);
+		PeakEwmaLoadBalancer loadBalancer = loadBalancer(PeakEwmaLoadBalancer.Strategy.PEAK_EWMA, Duration.ZERO);
+
+		Map<String, Integer> served = simulate(loadBalancer, instances, latencies, 20_000);
+
+		// Round-robin would send a third of the traffic (6 666 requests) to the slow replica
+		assertThat(served.getOrDefault("slow", 0)).isLessThan(1_000);
+		assertThat(served.get("fast-1") + served.get("fast-2")).isGreaterThan(19_000);
+	}
+
+	@Test
+	void leastOutstandingAvoidsTheReplicaThatQueuesRequests() {
+		List<ServiceInstance> instances = List.of(instance("fast-1"), instance("fast-2"), instance("slow"));
+		Map<String, Long> latencies = Map.of("fast-1", 10 * MS, "fast-2", 10 * MS, "slow", 200 * MS);
+		PeakEwmaLoadBalancer loadBalancer = loadBalancer(PeakEwmaLoadBalancer.Strategy.LEAST_OUTSTANDING, Duration.ZERO);
+
+		Map<String, Integer> served = simulate(loadBalancer, instances, latencies, 20_000);
+
+		assertThat(served.getOrDefault("slow", 0)).isLessThan(20_000 / 3);
+	}
+
+	@Test
+	void newReplicaIsRampedUpDuringSlowStart() {
+		PeakEwmaLoadBalancer loadBalancer = loadBalancer(PeakEwmaLoadBalancer.Strategy.LEAST_OUTSTANDING, Duration.ofSeconds(10));
+		List<ServiceInstance> veterans = List.of(instance("old-1"), instance("old-2"));
+		Map<String, Long> latencies = Map.of("old-1", 10 * MS, "old-2", 10 * MS, "new", 10 * MS);
+
+		// The old replicas are known for a while before the new one registers
+		simulate(loadBalancer, veterans, latencies, 20_000);
+		List<ServiceInstance> all = List.of(veterans.get(0), veterans.get(1), instance("new"));
+
+		Map<String, Integer> firstSecond = simulate(loadBalancer, all, latencies, 1_000);
+		now += TimeUnit.SECONDS.toNanos(10);
+		Map<String, Integer> afterSlowStart = simulate(loadBalancer, all, latencies, 1_000);
+
+		assertThat(firstSecond.getOrDefault("new", 0)).isLessThan(afterSlowStart.get("new"));
+		assertThat(afterSlowStart.get("new")).isGreaterThan(200);
+	}
+
+	@Test
+	void cancelledRequestsStopCountingAsOutstanding() {
+		List<ServiceInstance> instances = List.of(instance("flaky"), instance("steady"));
+		Map<String, Long> latencies = Map.of("flaky", 10 * MS, "steady", 10 * MS);
+		PeakEwmaLoadBalancer loadBalancer = loadBalancer(PeakEwmaLoadBalancer.Strategy.LEAST_OUTSTANDING, Duration.ZERO);
+
+		// Every call to "flaky" is cancelled by its client, so onComplete never comes for it
+		simulate(loadBalancer, instances, latencies, 2_000, Set.of("flaky"));
+		now += IN_FLIGHT_TIMEOUT.toNanos() * 2;
+		Map<String, Integer> afterTimeout = simulate(loadBalancer, instances, latencies, 2_000);
+
+		// Leaked counts would leave "flaky" with hundreds of outstanding requests and no traffic for good
+		assertThat(afterTimeout.getOrDefault("flaky", 0)).isGreaterThan(800);
+	}
+
+	private Map<String, Integer> simulate(PeakEwmaLoadBalancer loadBalancer, List<ServiceInstance> instances,
+										  Map<String, Long> latencies, int requests) {
+		return simulate(loadBalancer, instances, latencies, requests, Set.of());
+	}
+
+	private Map<String, Integer> simulate(PeakEwmaLoadBalancer loadBalancer, List<ServiceInstance> instances,
+										  Map<String, Long> latencies, int requests, Set<String> cancelledOn) {
+		Map<String, Integer> served = new HashMap<>();
+		PriorityQueue<InFlight> inFlight = new PriorityQueue<>((a, b) -> Long.compare(a.completesAt, b.completesAt));
+
+		for (int i = 0; i < requests; i++) {
+			while (!inFlight.isEmpty() && inFlight.peek().completesAt <= now) {
+				InFlight done = inFlight.poll();
+				long arrival = now;
+				now = done.completesAt;
+				loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, done.request, done.response));
+				now = arrival;
+			}
+
+			Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+			Response<ServiceInstance> response = loadBalancer.choose(instances);
+			loadBalancer.onStartRequest(request, response);
+			String id = response.getServer().getInstanceId();
+			served.merge(id, 1, Integer::sum);
+			if (!cancelledOn.contains(id)) {
+				inFlight.add(new InFlight(now + latencies.get(id), request, response));
+			}
+
+			now += MS;
+		}
+
+		// Drain, so the next phase starts with no outstanding requests
+		while (!inFlight.isEmpty()) {
+			InFlight done = inFlight.poll();
+			now = Math.max(now, done.completesAt);
+			loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, done.request, done.response));
+		}
+		return served;
+	}
+
+	private PeakEwmaLoadBalancer loadBalancer(PeakEwmaLoadBalancer.Strategy strategy, Duration slowStart) {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		return new PeakEwmaLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class), "product-service",
+				new PeakEwmaLoadBalancer.Settings(strategy, Duration.ofSeconds(10), slowStart, Duration.ofSeconds(1),
+						IN_FLIGHT_TIMEOUT),
+				() -> now);
+	}
+
+	private static ServiceInstance instance(String id) {
+		return new DefaultServiceInstance(id, "product-service", id, 8080, false);
+	}
+
+	private record InFlight(long completesAt, Request<Object> request, Response<ServiceInstance> response) {
+	}
+}
@@ -0,0 +1,60 @@
+package com.Shared.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The password encoder of Client-MS (which hashes) and the gateway (which verifies), built the same way on both
+ * sides so that upgradeEncoding() agrees on which stored hashes are outdated.
+ * Hashes are stored as "{algorithm}hash", so the algorithm and BCrypt cost can be changed without a mass reset:
+ * older hashes still verify and are upgraded at the next successful login.
+ * Hashes stored before the prefix existed are plain BCrypt.
+ */
+public final class PasswordEncoders {
+
+    private PasswordEncoders() {
+    }
+
+    /**
+     * @param algorithm      id of the encoder new hashes are made with: bcrypt or pbkdf2
+     * @param bcryptStrength BCrypt cost (log2 rounds) new hashes are made with
+     */
+    public static PasswordEncoder delegating(String algorithm, int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new CostAwareBCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return passwordEncoder;
+    }
+
+    /**
+     * Stock upgradeEncoding() only flags hashes with a lower cost: lowering the cost must rehash too.
+     */
+    public static class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+        private final int strength;
+
+        public CostAwareBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            Matcher matcher = BCRYPT_COST.matcher(encodedPassword == null ? "" : encodedPassword);
+            return matcher.find() ? Integer.parseInt(matcher.group(1)) != strength
+                    : super.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.Shared.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds an INTERNAL span around every Spring Data repository call made inside a sampled trace
+ * (named Repository.method), so database time shows up per call in the trace dump.
+ */
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+    // Looked up lazily: a post-processor must not pull ordinary beans in while the context is starting
+    private final ObjectProvider<SpanRecorder> spanRecorder;
+
+    public RepositoryTracingPostProcessor(ObjectProvider<SpanRecorder> spanRecorder) {
+        this.spanRecorder = spanRecorder;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            tracing(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor tracing(String repositoryName) {
+        return invocation -> {
+            TraceContext parent = TraceContext.current();
+            if (parent == null || !parent.sampled()) {
+                return invocation.proceed();
+            }
+
+            TraceContext span = parent.child();
+            long startMillis = System.currentTimeMillis();
+            long start = System.nanoTime();
+            String outcome = "OK";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                outcome = "ERROR " + e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                spanRecorder.getObject().record(span, parent.spanId(), "INTERNAL",
+                        repositoryName + "." + invocation.getMethod().getName(),
+                        startMillis, System.nanoTime() - start, outcome);
+            }
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.Shared.tracing;
+
+/**
+ * A finished span as exported by /actuator/traces. kind is SERVER, CLIENT or INTERNAL (repository calls).
+ */
+public record Span(String traceId, String spanId, String parentSpanId, String service, String kind, String name,
+                   long startEpochMillis, double durationMs, String outcome) {
+}
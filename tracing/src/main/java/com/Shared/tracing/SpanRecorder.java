@@ -0,0 +1,59 @@
+package com.Shared.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Local span exporter: keeps the last tracing.ring-size finished spans in memory, no collector needed.
+ * Writers only claim a slot and store a reference, older spans are overwritten.
+ */
+public class SpanRecorder {
+
+    private final String service;
+    private final double sampleRate;
+    private final AtomicReferenceArray<Span> ring;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public SpanRecorder(String service, double sampleRate, int ringSize) {
+        this.service = service;
+        this.sampleRate = sampleRate;
+        this.ring = new AtomicReferenceArray<>(ringSize);
+    }
+
+    /**
+     * Sampling decision for traces starting here (no incoming traceparent).
+     */
+    public boolean sampleNewTrace() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void record(TraceContext span, String parentSpanId, String kind, String name,
+                       long startEpochMillis, long durationNanos, String outcome) {
+        if (!span.sampled()) {
+            return;
+        }
+        int slot = (int) (cursor.getAndIncrement() % ring.length());
+        ring.set(slot, new Span(span.traceId(), span.spanId(), parentSpanId, service, kind, name,
+                startEpochMillis, durationNanos / 1_000_000.0, outcome));
+    }
+
+    /**
+     * @param traceId only the spans of this trace, or all of them when null
+     * @return spans ordered by start time
+     */
+    public List<Span> spans(String traceId) {
+        List<Span> spans = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Span span = ring.get(i);
+            if (span != null && (traceId == null || traceId.equals(span.traceId()))) {
+                spans.add(span);
+            }
+        }
+        spans.sort(Comparator.comparingLong(Span::startEpochMillis));
+        return spans;
+    }
+}
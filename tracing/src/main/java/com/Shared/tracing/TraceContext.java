@@ -0,0 +1,104 @@
+package com.Shared.tracing;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C trace context (traceparent header: 00-traceId-spanId-flags).
+ * Servlet services make the span being handled current on its thread ({@link #attach} / {@link #restore});
+ * the reactive gateway keeps it on the exchange instead and never touches the thread-local.
+ */
+public record TraceContext(String traceId, String spanId, boolean sampled) {
+
+    public static final String HEADER = "traceparent";
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+    /**
+     * @return the context carried by a traceparent header, or null when absent or malformed
+     */
+    public static TraceContext parse(String header) {
+        if (header == null || header.length() != 55) {
+            return null;
+        }
+        String[] parts = header.split("-");
+        if (parts.length != 4 || "ff".equals(parts[0]) || !isHex(parts[1]) || !isHex(parts[2]) || !isHex(parts[3])
+                || INVALID_TRACE_ID.equals(parts[1]) || INVALID_SPAN_ID.equals(parts[2])) {
+            return null;
+        }
+        return new TraceContext(parts[1], parts[2], (HexFormat.fromHexDigits(parts[3]) & 1) == 1);
+    }
+
+    public static TraceContext newRoot(boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong()),
+                newSpanId(), sampled);
+    }
+
+    public TraceContext child() {
+        return new TraceContext(traceId, newSpanId(), sampled);
+    }
+
+    public String header() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the context current and returns the previous one, to be handed back to {@link #restore}.
+     */
+    public static TraceContext attach(TraceContext context) {
+        TraceContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return previous;
+    }
+
+    public static void restore(TraceContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Carries the caller's context over to the thread that runs the task (worker pools).
+     */
+    public static Runnable wrap(Runnable task) {
+        TraceContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            TraceContext previous = attach(context);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return HEX.toHexDigits(id);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0 || Character.isUpperCase(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
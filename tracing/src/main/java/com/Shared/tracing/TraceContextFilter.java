@@ -0,0 +1,53 @@
+package com.Shared.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Server span of each request in a servlet service: continues the caller's traceparent (or starts a trace)
+ * and makes it the current context, so outgoing calls and repository calls made while handling the request
+ * become its children.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceContextFilter extends OncePerRequestFilter {
+
+    private final SpanRecorder spanRecorder;
+
+    public TraceContextFilter(SpanRecorder spanRecorder) {
+        this.spanRecorder = spanRecorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TraceContext incoming = TraceContext.parse(request.getHeader(TraceContext.HEADER));
+        TraceContext span = incoming != null ? incoming.child() : TraceContext.newRoot(spanRecorder.sampleNewTrace());
+        TraceContext previous = TraceContext.attach(span);
+
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        String outcome = null;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            outcome = "ERROR " + e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            TraceContext.restore(previous);
+            // Route template (/products/{id}) rather than the raw path keeps span names groupable
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            spanRecorder.record(span, incoming != null ? incoming.spanId() : null, "SERVER",
+                    request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()),
+                    startMillis, System.nanoTime() - start,
+                    outcome != null ? outcome : String.valueOf(response.getStatus()));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.Shared.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+
+/**
+ * JSON dump of the recorded spans: GET /actuator/traces, or /actuator/traces/{traceId} for one trace.
+ */
+@Endpoint(id = "traces")
+public class TraceEndpoint {
+
+    private final SpanRecorder spanRecorder;
+
+    public TraceEndpoint(SpanRecorder spanRecorder) {
+        this.spanRecorder = spanRecorder;
+    }
+
+    @ReadOperation
+    public List<Span> traces() {
+        return spanRecorder.spans(null);
+    }
+
+    @ReadOperation
+    public List<Span> trace(@Selector String traceId) {
+        return spanRecorder.spans(traceId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.Shared.tracing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the span recorder and, depending on what the service has on its classpath, the servlet
+ * {@link TraceContextFilter}, repository spans and the /actuator/traces endpoint.
+ * Settings: tracing.sample-rate (share of new traces recorded) and tracing.ring-size (spans kept).
+ */
+@AutoConfiguration
+public class TracingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpanRecorder spanRecorder(@Value("${spring.application.name:application}") String service,
+                                     @Value("${tracing.sample-rate:1.0}") double sampleRate,
+                                     @Value("${tracing.ring-size:4096}") int ringSize) {
+        return new SpanRecorder(service, sampleRate, ringSize);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class EndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public TraceEndpoint traceEndpoint(SpanRecorder spanRecorder) {
+            return new TraceEndpoint(spanRecorder);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "org.springframework.web.servlet.HandlerMapping")
+    static class ServletConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public TraceContextFilter traceContextFilter(SpanRecorder spanRecorder) {
+            return new TraceContextFilter(spanRecorder);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport")
+    static class RepositoryConfiguration {
+
+        // Static: post-processors are created before the configuration class itself
+        @Bean
+        public static RepositoryTracingPostProcessor repositoryTracingPostProcessor(ObjectProvider<SpanRecorder> spanRecorder) {
+            return new RepositoryTracingPostProcessor(spanRecorder);
+        }
+    }
+}